@@ -0,0 +1,191 @@
+package projects;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import projects.dao.BenchmarkDatabase;
+import projects.dao.DbConnection;
+import projects.dao.StatementBinder;
+import projects.entity.Material;
+
+/**
+ * Benchmarks for the reflective helpers in {@link DaoBase}: row extraction and parameter binding.
+ * Extraction is compared with the original per-call reflective extract, kept here as a baseline,
+ * and binding with a {@link StatementBinder} built once for the statement.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DaoBaseBenchmark {
+  private static final BigDecimal COST = new BigDecimal("3.75");
+
+  /* DaoBase is abstract; this exposes its protected helpers to the benchmarks. */
+  private static class BenchmarkDao extends DaoBase {
+  }
+
+  private static final StatementBinder<Material> MATERIAL_BINDER = StatementBinder.<Material>builder()
+      .string(Material::getMaterialName)
+      .integer(Material::getNumRequired)
+      .decimal(Material::getCost)
+      .integer(Material::getProjectId)
+      .build();
+
+  private final BenchmarkDao dao = new BenchmarkDao();
+  private final Material material = new Material();
+
+  private Connection conn;
+  private PreparedStatement selectStmt;
+  private PreparedStatement insertStmt;
+
+  @Setup(Level.Trial)
+  public void setUp() throws SQLException {
+    BenchmarkDatabase.start();
+    BenchmarkDatabase.seed(200, 5);
+
+    material.setMaterialName("Material");
+    material.setNumRequired(4);
+    material.setCost(COST);
+
+    conn = DbConnection.getConnection();
+    selectStmt = conn.prepareStatement("SELECT * FROM material");
+    insertStmt = conn.prepareStatement(
+        "INSERT INTO material (material_name, num_required, cost, project_id) VALUES (?, ?, ?, ?)");
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws SQLException {
+    selectStmt.close();
+    insertStmt.close();
+    conn.close();
+  }
+
+  /**
+   * Baseline: extracts each row the way DaoBase.extract did before the entity metadata was cached,
+   * looking up the constructor and fields and reading each column by name on every call.
+   */
+  @Benchmark
+  public void reflectiveExtractPerRow(Blackhole blackhole) throws Exception {
+    try(ResultSet rs = selectStmt.executeQuery()) {
+      while(rs.next()) {
+        blackhole.consume(reflectiveExtract(rs, Material.class));
+      }
+    }
+  }
+
+  /** Extracts each row with extract(), which matches columns on every call. */
+  @Benchmark
+  public void extractPerRow(Blackhole blackhole) throws SQLException {
+    try(ResultSet rs = selectStmt.executeQuery()) {
+      while(rs.next()) {
+        blackhole.consume(dao.extract(rs, Material.class));
+      }
+    }
+  }
+
+  /** Extracts all rows with extractAll(), which matches columns once per result set. */
+  @Benchmark
+  public Object extractAll() throws SQLException {
+    try(ResultSet rs = selectStmt.executeQuery()) {
+      return dao.extractAll(rs, Material.class);
+    }
+  }
+
+  /** Binds one row of material parameters without executing the statement. */
+  @Benchmark
+  public void setParameter() throws SQLException {
+    dao.setParameter(insertStmt, 1, "Material", String.class);
+    dao.setParameter(insertStmt, 2, 4, Integer.class);
+    dao.setParameter(insertStmt, 3, COST, BigDecimal.class);
+    dao.setParameter(insertStmt, 4, null, Integer.class);
+  }
+
+  /** Binds the same row of material parameters with a prebuilt binder. */
+  @Benchmark
+  public void statementBinder() throws SQLException {
+    MATERIAL_BINDER.bind(insertStmt, material);
+  }
+
+  /**
+   * The original DaoBase.extract, unchanged apart from the exception handling: everything is looked
+   * up by reflection on every call, and a column missing from the result set costs an exception.
+   */
+  private static <T> T reflectiveExtract(ResultSet rs, Class<T> classType) throws Exception {
+    /* Obtain the constructor and create an object of the correct type. */
+    Constructor<T> con = classType.getConstructor();
+    T obj = con.newInstance();
+
+    /* Get the list of fields and loop through them. */
+    for(Field field : classType.getDeclaredFields()) {
+      String colName = camelCaseToSnakeCase(field.getName());
+      Class<?> fieldType = field.getType();
+
+      field.setAccessible(true);
+      Object fieldValue = null;
+
+      try {
+        fieldValue = rs.getObject(colName);
+      }
+      catch(SQLException e) {
+        /* The field name isn't in the result set. Don't take any action. */
+      }
+
+      if(Objects.nonNull(fieldValue)) {
+        /* Convert the following types: Time -> LocalTime, and Timestamp -> LocalDateTime. */
+        if(fieldValue instanceof Time && fieldType.equals(LocalTime.class)) {
+          fieldValue = ((Time)fieldValue).toLocalTime();
+        }
+        else if(fieldValue instanceof Timestamp && fieldType.equals(LocalDateTime.class)) {
+          fieldValue = ((Timestamp)fieldValue).toLocalDateTime();
+        }
+
+        field.set(obj, fieldValue);
+      }
+    }
+
+    return obj;
+  }
+
+  /** Converts a camel case name (rowInsertTime) to snake case (row_insert_time). */
+  private static String camelCaseToSnakeCase(String identifier) {
+    StringBuilder nameBuilder = new StringBuilder();
+
+    for(char ch : identifier.toCharArray()) {
+      if(Character.isUpperCase(ch)) {
+        nameBuilder.append('_').append(Character.toLowerCase(ch));
+      }
+      else {
+        nameBuilder.append(ch);
+      }
+    }
+
+    return nameBuilder.toString();
+  }
+}
@@ -0,0 +1,123 @@
+package projects.dao;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import projects.entity.Category;
+import projects.entity.Material;
+import projects.entity.Project;
+import projects.entity.Step;
+import projects.exception.DbException;
+
+/**
+ * Sets up the in-memory, MySQL-compatible database used by the benchmarks. {@link #start()} must be
+ * called before anything uses {@link DbConnection}, because it points the connection pool at the
+ * stand-in database.
+ */
+public final class BenchmarkDatabase {
+    public static final String URI =
+            "jdbc:h2:mem:projects;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    private static final String SCHEMA_RESOURCE = "/benchmark-schema.sql";
+
+    private static Connection keepAlive;
+
+    private BenchmarkDatabase() {
+    }
+
+    /**
+     * Creates the schema (once per JVM) and routes {@link DbConnection} to the stand-in database.
+     */
+    public static synchronized void start() {
+        if (keepAlive != null) {
+            return;
+        }
+
+        System.setProperty("projects.db.uri", URI);
+
+        try {
+            keepAlive = DriverManager.getConnection(URI);
+
+            try (Statement stmt = keepAlive.createStatement()) {
+                for (String ddl : readSchema().split(";")) {
+                    if (!ddl.isBlank()) {
+                        stmt.execute(ddl);
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new DbException("Unable to create the benchmark schema", e);
+        }
+    }
+
+    /**
+     * Inserts projects, each with materials, steps, and categories.
+     *
+     * @param count            The number of projects to insert.
+     * @param childrenPerProject The number of materials, steps, and categories per project.
+     * @return The inserted projects with their generated IDs.
+     */
+    public static List<Project> seed(int count, int childrenPerProject) {
+        List<Project> projects = new ArrayList<>();
+
+        for (int index = 0; index < count; index++) {
+            projects.add(newProject(index, childrenPerProject));
+        }
+
+        new ProjectDao().insertProjects(projects, 500);
+        return projects;
+    }
+
+    /**
+     * Builds a project that has not been saved.
+     *
+     * @param index              A number used to make names unique.
+     * @param childrenPerProject The number of materials, steps, and categories.
+     * @return The project.
+     */
+    public static Project newProject(int index, int childrenPerProject) {
+        Project project = new Project();
+        project.setProjectName("Project " + index);
+        project.setEstimatedHours(new BigDecimal("12.50"));
+        project.setActualHours(new BigDecimal("14.25"));
+        project.setDifficulty(1 + index % 5);
+        project.setNotes("Benchmark project " + index);
+
+        for (int child = 0; child < childrenPerProject; child++) {
+            Material material = new Material();
+            material.setMaterialName("Material " + child);
+            material.setNumRequired(child + 1);
+            material.setCost(new BigDecimal("3.75"));
+            project.addMaterial(material);
+
+            Step step = new Step();
+            step.setStepText("Step " + child + " of project " + index);
+            project.addStep(step);
+
+            Category category = new Category();
+            category.setCategoryName("Category " + child);
+            project.addCategory(category);
+        }
+
+        return project;
+    }
+
+    private static String readSchema() {
+        try (InputStream in = BenchmarkDatabase.class.getResourceAsStream(SCHEMA_RESOURCE)) {
+            if (in == null) {
+                throw new DbException("Missing resource " + SCHEMA_RESOURCE);
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new DbException("Unable to read " + SCHEMA_RESOURCE, e);
+        }
+    }
+}
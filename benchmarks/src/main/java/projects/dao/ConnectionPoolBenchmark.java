@@ -0,0 +1,83 @@
+package projects.dao;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the per-call latency of getting a connection from {@link ConnectionPool} with opening one
+ * through {@link DriverManager}, as the DAO did before the pool. Each call gets a connection, runs
+ * {@code SELECT 1}, and closes it.
+ *
+ * <p>By default it runs against the in-memory stand-in database, where opening a connection is
+ * cheap, so the gap is much smaller than with a real server. To measure the TCP connect and
+ * authentication a MySQL connection costs, pass the URI of any MySQL schema:
+ *
+ * <pre>
+ * java -jar target/benchmarks.jar ConnectionPoolBenchmark \
+ *     -jvmArgsAppend -Dbenchmark.mysql.uri="jdbc:mysql://localhost:3306/projects_bench?user=...&amp;password=..."
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConnectionPoolBenchmark {
+    private static final String URI_PROPERTY = "benchmark.mysql.uri";
+
+    private String uri;
+    private ConnectionPool pool;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        uri = System.getProperty(URI_PROPERTY, BenchmarkDatabase.URI);
+        // Same validation and timeouts as the application's defaults (see DbConnection)
+        pool = new ConnectionPool(uri, 1, 1, 10 * 60 * 1000, 30 * 60 * 1000, 30 * 1000, 2);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.close();
+    }
+
+    /** Borrows a pooled connection, which is validated before it is handed out. */
+    @Benchmark
+    public int pooledConnection() throws SQLException {
+        try (Connection conn = pool.borrow()) {
+            return selectOne(conn);
+        }
+    }
+
+    /** Opens and closes a physical connection on every call. */
+    @Benchmark
+    public int driverManagerConnection() throws SQLException {
+        try (Connection conn = DriverManager.getConnection(uri)) {
+            return selectOne(conn);
+        }
+    }
+
+    private static int selectOne(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement(); ResultSet rs = stmt.executeQuery("SELECT 1")) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package projects.dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import projects.entity.Project;
+
+/**
+ * Benchmarks for ProjectDao row mapping and the end-to-end insert and fetch paths, run against the
+ * in-memory stand-in database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProjectDaoBenchmark {
+    private static final int PROJECT_COUNT = 1000;
+    private static final int CHILDREN_PER_PROJECT = 5;
+
+    // Projects written by each insertProjects call
+    private static final int INSERT_PROJECTS_PER_CALL = 1000;
+
+    // Rows written per project: the project, its materials and steps, and its category links
+    private static final int ROWS_PER_PROJECT = 1 + 3 * CHILDREN_PER_PROJECT;
+
+    private final ProjectDao projectDao = new ProjectDao();
+
+    private Connection conn;
+    private PreparedStatement projectStmt;
+    private PreparedStatement materialStmt;
+    private Integer projectId;
+    private int insertCounter;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        BenchmarkDatabase.start();
+        List<Project> projects = BenchmarkDatabase.seed(PROJECT_COUNT, CHILDREN_PER_PROJECT);
+        projectId = projects.get(projects.size() / 2).getProjectId();
+
+        conn = DbConnection.getConnection();
+        projectStmt = conn.prepareStatement("SELECT " + RowMappers.PROJECT_COLUMNS + " FROM project");
+        materialStmt = conn.prepareStatement("SELECT " + RowMappers.MATERIAL_COLUMNS + " FROM material");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        projectStmt.close();
+        materialStmt.close();
+        conn.close();
+    }
+
+    /** Maps every row of the project table with the index-based row mapper. */
+    @Benchmark
+    public void mapProjectRows(Blackhole blackhole) throws SQLException {
+        try (ResultSet rs = projectStmt.executeQuery()) {
+            while (rs.next()) {
+                blackhole.consume(RowMappers.PROJECT.map(rs));
+            }
+        }
+    }
+
+    /** Maps every row of the material table with the index-based row mapper. */
+    @Benchmark
+    public void mapMaterialRows(Blackhole blackhole) throws SQLException {
+        try (ResultSet rs = materialStmt.executeQuery()) {
+            while (rs.next()) {
+                blackhole.consume(RowMappers.MATERIAL.map(rs));
+            }
+        }
+    }
+
+    @Benchmark
+    public Project insertProject() {
+        return projectDao.insertProject(BenchmarkDatabase.newProject(insertCounter++, CHILDREN_PER_PROJECT));
+    }
+
+    /**
+     * Inserts {@link #INSERT_PROJECTS_PER_CALL} projects with insertProjects at each batch size. The
+     * score is rows written per second.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @OperationsPerInvocation(INSERT_PROJECTS_PER_CALL * ROWS_PER_PROJECT)
+    public int insertProjects(InsertBatch batch) {
+        return projectDao.insertProjects(batch.projects, batch.batchSize);
+    }
+
+    @Benchmark
+    public Object fetchProjectById() {
+        return projectDao.fetchProjectById(projectId);
+    }
+
+    @Benchmark
+    public Object fetchProjectGraphById() {
+        return projectDao.fetchProjectGraphById(projectId);
+    }
+
+    @Benchmark
+    public Object fetchProjectPage() {
+        return projectDao.fetchProjectPage(projectId, 25);
+    }
+
+    /**
+     * The projects for one insertProjects call. They are rebuilt before every call because inserting
+     * sets their IDs.
+     */
+    @State(Scope.Benchmark)
+    public static class InsertBatch {
+        @Param({ "1", "10", "100", "500" })
+        public int batchSize;
+
+        private List<Project> projects;
+        private int counter;
+
+        @Setup(Level.Invocation)
+        public void buildProjects() {
+            projects = new ArrayList<>(INSERT_PROJECTS_PER_CALL);
+
+            for (int index = 0; index < INSERT_PROJECTS_PER_CALL; index++) {
+                projects.add(BenchmarkDatabase.newProject(counter++, CHILDREN_PER_PROJECT));
+            }
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package projects.dao;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import projects.entity.Project;
+
+/**
+ * Compares ProjectDao reads with and without server-side prepared statement caching. Unlike the
+ * other benchmarks this needs a real MySQL server, because the cache lives in Connector/J and the
+ * server. Point it at a scratch schema created from projects-schema.sql:
+ *
+ * <pre>
+ * java -jar target/benchmarks.jar StatementCacheBenchmark \
+ *     -jvmArgsAppend -Dbenchmark.mysql.uri="jdbc:mysql://localhost:3306/projects_bench?user=...&amp;password=..."
+ * </pre>
+ *
+ * The client cost shows up in the benchmark score. The server cost is printed at the end of each
+ * trial as the number of COM_STMT_PREPARE commands the server received per call: with the cache on
+ * it drops to (nearly) zero, because every statement is prepared once per pooled connection.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StatementCacheBenchmark {
+    private static final String URI_PROPERTY = "benchmark.mysql.uri";
+    private static final int PROJECT_COUNT = 100;
+    private static final int CHILDREN_PER_PROJECT = 5;
+
+    @Param({ "false", "true" })
+    public boolean statementCache;
+
+    private final ProjectDao projectDao = new ProjectDao();
+    private final AtomicLong calls = new AtomicLong();
+
+    private String uri;
+    private List<Project> projects;
+    private Map<String, Long> statusBefore;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        String baseUri = System.getProperty(URI_PROPERTY);
+
+        if (baseUri == null) {
+            throw new IllegalStateException("Set -D" + URI_PROPERTY + " to the JDBC URI of a scratch MySQL schema");
+        }
+
+        // Each parameter value runs in its own forked JVM, so the pool is created with these settings
+        uri = baseUri + (baseUri.contains("?") ? "&" : "?")
+                + "rewriteBatchedStatements=true"
+                + "&useServerPrepStmts=" + statementCache + "&cachePrepStmts=" + statementCache
+                + "&prepStmtCacheSize=250&prepStmtCacheSqlLimit=12288";
+        System.setProperty("projects.db.uri", uri);
+
+        projects = BenchmarkDatabase.seed(PROJECT_COUNT, CHILDREN_PER_PROJECT);
+        statusBefore = readStatementStatus();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        Map<String, Long> statusAfter = readStatementStatus();
+
+        for (Map.Entry<String, Long> entry : statusAfter.entrySet()) {
+            long delta = entry.getValue() - statusBefore.getOrDefault(entry.getKey(), 0L);
+            System.out.printf("%n%s per call: %.2f", entry.getKey(), (double) delta / Math.max(1, calls.get()));
+        }
+        System.out.println();
+
+        for (Project project : projects) {
+            projectDao.deleteProject(project.getProjectId());
+        }
+    }
+
+    /** One statement per call: the single round-trip project graph query. */
+    @Benchmark
+    public Object fetchProjectGraphById() {
+        calls.incrementAndGet();
+        return projectDao.fetchProjectGraphById(nextProjectId());
+    }
+
+    /** Four statements per call: a page of projects and the IN-list child queries. */
+    @Benchmark
+    public Object fetchProjectPage() {
+        calls.incrementAndGet();
+        return projectDao.fetchProjectPage(nextProjectId() - 1, 10);
+    }
+
+    private Integer nextProjectId() {
+        next = (next + 1) % projects.size();
+        return projects.get(next).getProjectId();
+    }
+
+    /**
+     * Reads the server's global prepared statement counters. Other clients of the server add to
+     * them too, so run the benchmark against an otherwise idle server.
+     */
+    private Map<String, Long> readStatementStatus() throws SQLException {
+        Map<String, Long> status = new HashMap<>();
+
+        try (Connection conn = DriverManager.getConnection(uri);
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SHOW GLOBAL STATUS WHERE Variable_name IN "
+                     + "('Com_stmt_prepare', 'Com_stmt_execute', 'Com_stmt_close', 'Com_select')")) {
+            while (rs.next()) {
+                status.put(rs.getString(1), rs.getLong(2));
+            }
+        }
+        return status;
+    }
+}
@@ -0,0 +1,57 @@
+package projects.entity;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import projects.dao.BenchmarkDatabase;
+
+/**
+ * Benchmarks for the entity formatting code: Project.toString and EntityBase.toFraction.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EntityBenchmark {
+
+  /* EntityBase is abstract; this exposes toFraction to the benchmark. */
+  private static class FractionEntity extends EntityBase {
+    String fraction(BigDecimal value) {
+      return toFraction(value);
+    }
+  }
+
+  private final FractionEntity fractionEntity = new FractionEntity();
+  private final BigDecimal amount = new BigDecimal("16.6667");
+
+  private Project project;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    project = BenchmarkDatabase.newProject(1, 10);
+  }
+
+  @Benchmark
+  public String projectToString() {
+    return project.toString();
+  }
+
+  @Benchmark
+  public String toFraction() {
+    return fractionEntity.fraction(amount);
+  }
+}
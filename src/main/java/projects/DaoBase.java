@@ -4,19 +4,15 @@ package projects;
  * 
  */
 
-import java.lang.reflect.Constructor;
-import java.lang.reflect.Field;
 import java.math.BigDecimal;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.sql.Statement;
-import java.sql.Time;
-import java.sql.Timestamp;
 import java.sql.Types;
-import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 
 /**
@@ -58,10 +54,25 @@ public abstract class DaoBase {
     conn.rollback();
   }
 
+  /**
+   * The parameter setter for each supported Java class, looked up once per class and cached so that
+   * binding a parameter doesn't map the class to an SQL type every time.
+   */
+  private static final ClassValue<ParameterSetter> PARAMETER_SETTERS = new ClassValue<>() {
+    @Override
+    protected ParameterSetter computeValue(Class<?> classType) {
+      return parameterSetterFor(classType);
+    }
+  };
+
   /**
    * This sets a parameter on a prepared statement. If the parameter is null, it is handled
    * correctly.
    * 
+   * For statements executed many times, such as batch inserts, prefer a
+   * {@link projects.dao.StatementBinder} built once for the statement. It calls the typed setters
+   * directly without looking up the class of each parameter.
+   * 
    * @param stmt The prepared statement on which to set the parameter.
    * @param parameterIndex This is the one-based index of the parameter. In the SQL that is bound to
    *        the prepared statement, parameters are indicated by a question mark. From left-to-right,
@@ -74,125 +85,51 @@ public abstract class DaoBase {
    */
   protected void setParameter(PreparedStatement stmt, int parameterIndex, Object value,
       Class<?> classType) throws SQLException {
-    int sqlType = convertJavaClassToSqlType(classType);
+    ParameterSetter setter = PARAMETER_SETTERS.get(classType);
 
     if(Objects.isNull(value)) {
-      stmt.setNull(parameterIndex, sqlType);
+      stmt.setNull(parameterIndex, setter.sqlType);
     }
     else {
-      switch(sqlType) {
-        case Types.DECIMAL:
-          stmt.setBigDecimal(parameterIndex, (BigDecimal)value);
-          break;
-
-        case Types.DOUBLE:
-          stmt.setDouble(parameterIndex, (Double)value);
-          break;
-
-        case Types.INTEGER:
-          stmt.setInt(parameterIndex, (Integer)value);
-          break;
-
-        case Types.OTHER:
-          stmt.setObject(parameterIndex, value);
-          break;
-
-        case Types.VARCHAR:
-          stmt.setString(parameterIndex, (String)value);
-          break;
-
-        default:
-          throw new DaoException("Unknown parameter type: " + classType);
-      }
+      setter.setter.set(stmt, parameterIndex, value);
     }
   }
 
   /**
-   * Converts from a Java class to a java.sql.Types value.
+   * Creates the setter for a Java class, which holds its java.sql.Types value and the driver method
+   * used to set a non-null value.
    * 
    * @param classType The class type
-   * @return A java.sql.Types value
+   * @return The parameter setter
    */
-  private int convertJavaClassToSqlType(Class<?> classType) {
+  private static ParameterSetter parameterSetterFor(Class<?> classType) {
     if(Integer.class.equals(classType)) {
-      return Types.INTEGER;
+      return new ParameterSetter(Types.INTEGER,
+          (stmt, index, value) -> stmt.setInt(index, (Integer)value));
     }
 
     if(String.class.equals(classType)) {
-      return Types.VARCHAR;
+      return new ParameterSetter(Types.VARCHAR,
+          (stmt, index, value) -> stmt.setString(index, (String)value));
     }
 
     if(Double.class.equals(classType)) {
-      return Types.DOUBLE;
+      return new ParameterSetter(Types.DOUBLE,
+          (stmt, index, value) -> stmt.setDouble(index, (Double)value));
     }
 
     if(BigDecimal.class.equals(classType)) {
-      return Types.DECIMAL;
+      return new ParameterSetter(Types.DECIMAL,
+          (stmt, index, value) -> stmt.setBigDecimal(index, (BigDecimal)value));
     }
 
     if(LocalTime.class.equals(classType)) {
-      return Types.OTHER;
+      return new ParameterSetter(Types.OTHER, PreparedStatement::setObject);
     }
 
     throw new DaoException("Unsupported class type: " + classType.getName());
   }
 
-  /**
-   * This retrieves the number of child rows and adds one to the value. It is used to set the order
-   * of a child row. For a *real* application, a more sophisticated approach is desired. This method
-   * does not allow for entity reordering and does not allow for an entity to be deleted.
-   * 
-   * @param conn The connection
-   * @param id The ID of the parent entity
-   * @param tableName The name of the table with the child rows
-   * @param idName The name of the parent ID field
-   * @return The count of the entities attached to the parent plus one
-   * @throws SQLException Thrown if an error occurs.
-   */
-  protected Integer getNextSequenceNumber(Connection conn, Integer id, String tableName,
-      String idName) throws SQLException {
-    String sql = "SELECT COUNT(*) FROM " + tableName + " WHERE " + idName + " = ?";
-
-    try(PreparedStatement stmt = conn.prepareStatement(sql)) {
-      setParameter(stmt, 1, id, Integer.class);
-
-      try(ResultSet rs = stmt.executeQuery()) {
-        if(rs.next()) {
-          return rs.getInt(1) + 1;
-        }
-
-        return 1;
-      }
-    }
-  }
-
-  /**
-   * This returns the integer primary key value of the last row inserted into the given table. It
-   * allows the ID to be inserted into the entity object after inserting it into the table.
-   * 
-   * The other way of doing this is to call {@link Statement#getGeneratedKeys()}, but this returns a
-   * result set that needs to be parsed for the ID. It's not really any easier than this approach
-   * but should be closer to database-agnostic.
-   * 
-   * @param conn The connection
-   * @param table The name of the table on which to get the last inserted primary key value
-   * @return The primary key value
-   * @throws SQLException Thrown if an error occurs
-   */
-  protected Integer getLastInsertId(Connection conn, String table) throws SQLException {
-    String sql = String.format("SELECT LAST_INSERT_ID() FROM %s", table);
-
-    try(Statement stmt = conn.createStatement()) {
-      try(ResultSet rs = stmt.executeQuery(sql)) {
-        if(rs.next()) {
-          return rs.getInt(1);
-        }
-
-        throw new SQLException("Unable to retrieve the primary key value. No result set!");
-      }
-    }
-  }
-
   /**
    * This extracts an object of the given type from a result set. The object must have a
    * zero-argument constructor. It builds an object from a result set using reflection as follows:
@@ -206,6 +143,11 @@ public abstract class DaoBase {
    * <li>The value is assigned to the field in the object.</li>
    * </ol>
    * 
+   * The reflective lookups above are done once per class and cached (see {@link EntityMapper}).
+   * Matching fields to result set columns is done once per call. When extracting many rows from
+   * the same result set, use {@link #extractAll(ResultSet, Class)}, which matches the columns only
+   * once for the whole result set.
+   * 
    * Example: if a query returns values for a recipe, a Recipe object is returned. So:
    * 
    * <pre>
@@ -233,54 +175,33 @@ public abstract class DaoBase {
    */
   protected <T> T extract(ResultSet rs, Class<T> classType) {
     try {
-      /* Obtain the constructor and create an object of the correct type. */
-      Constructor<T> con = classType.getConstructor();
-      T obj = con.newInstance();
-
-      /* Get the list of fields and loop through them. */
-      for(Field field : classType.getDeclaredFields()) {
-        String colName = camelCaseToSnakeCase(field.getName());
-        Class<?> fieldType = field.getType();
-
-        /*
-         * Set the field accessible flag which means that we can populate even private fields
-         * without using the setter.
-         */
-        field.setAccessible(true);
-        Object fieldValue = null;
-
-        try {
-          fieldValue = rs.getObject(colName);
-        }
-        catch(SQLException e) {
-          /*
-           * An exception caught here means that the field name isn't in the result set. Don't take
-           * any action.
-           */
-        }
+      return EntityMapper.forClass(classType).bind(rs).extract(rs);
+    }
+    catch(Exception e) {
+      throw new DaoException("Unable to create object of type " + classType.getName(), e);
+    }
+  }
 
-        /*
-         * Only set the value in the object if there is a value with the same name in the result
-         * set. This will preserve instance variables (like lists) that are assigned values when the
-         * object is created.
-         */
-        if(Objects.nonNull(fieldValue)) {
-          /*
-           * Convert the following types: Time -> LocalTime, and Timestamp -> LocalDateTime.
-           */
-          if(fieldValue instanceof Time && fieldType.equals(LocalTime.class)) {
-            fieldValue = ((Time)fieldValue).toLocalTime();
-          }
-          else if(fieldValue instanceof Timestamp && fieldType.equals(LocalDateTime.class)) {
-            fieldValue = ((Timestamp)fieldValue).toLocalDateTime();
-          }
+  /**
+   * This extracts an object of the given type from every remaining row in a result set. It works
+   * like {@link #extract(ResultSet, Class)}, but the fields are matched to column indexes only
+   * once, so each row is just a loop over the matched columns.
+   * 
+   * @param <T> The Generic for the type of object to create and return.
+   * @param rs The result set in which to extract values. Extraction starts at the next row.
+   * @param classType The actual class type of the objects to create.
+   * @return A list with one populated object per row.
+   */
+  protected <T> List<T> extractAll(ResultSet rs, Class<T> classType) {
+    try {
+      EntityMapper.BoundMapper<T> mapper = EntityMapper.forClass(classType).bind(rs);
+      List<T> result = new ArrayList<>();
 
-          field.set(obj, fieldValue);
-        }
+      while(rs.next()) {
+        result.add(mapper.extract(rs));
       }
 
-      return obj;
-
+      return result;
     }
     catch(Exception e) {
       throw new DaoException("Unable to create object of type " + classType.getName(), e);
@@ -288,24 +209,24 @@ public abstract class DaoBase {
   }
 
   /**
-   * This converts a camel case value (rowInsertTime) to snake case (row_insert_time).
-   * 
-   * @param identifier The name in camel case to convert.
-   * @return The name converted to snake case.
+   * Sets a non-null parameter value with the driver method for its class.
    */
-  private String camelCaseToSnakeCase(String identifier) {
-    StringBuilder nameBuilder = new StringBuilder();
+  @FunctionalInterface
+  private interface ValueSetter {
+    void set(PreparedStatement stmt, int parameterIndex, Object value) throws SQLException;
+  }
 
-    for(char ch : identifier.toCharArray()) {
-      if(Character.isUpperCase(ch)) {
-        nameBuilder.append('_').append(Character.toLowerCase(ch));
-      }
-      else {
-        nameBuilder.append(ch);
-      }
-    }
+  /**
+   * The java.sql.Types value of a class, used to set nulls, and the setter for its values.
+   */
+  private static class ParameterSetter {
+    private final int sqlType;
+    private final ValueSetter setter;
 
-    return nameBuilder.toString();
+    ParameterSetter(int sqlType, ValueSetter setter) {
+      this.sqlType = sqlType;
+      this.setter = setter;
+    }
   }
 
   /**
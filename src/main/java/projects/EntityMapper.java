@@ -0,0 +1,201 @@
+package projects;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * This class holds the reflective metadata used by {@link DaoBase#extract(ResultSet, Class)}. The
+ * constructor lookup, field list, accessibility checks and camel case to snake case conversion are
+ * done once per class and cached. Before rows are read, the mapper is bound to a result set, which
+ * resolves each field to a column index once using {@link ResultSetMetaData}. Reading a row is then
+ * a loop over the bound columns with no name lookups and no exceptions for missing columns.
+ *
+ * @author Promineo
+ *
+ * @param <T> The entity type created by this mapper.
+ */
+class EntityMapper<T> {
+  private static final ClassValue<EntityMapper<?>> MAPPERS = new ClassValue<>() {
+    @Override
+    protected EntityMapper<?> computeValue(Class<?> classType) {
+      return new EntityMapper<>(classType);
+    }
+  };
+
+  private final Class<T> classType;
+  private final Constructor<T> constructor;
+  private final Map<String, Field> fieldsByColumn = new HashMap<>();
+
+  /**
+   * Returns the cached mapper for a class, creating it on first use.
+   *
+   * @param <T> The entity type.
+   * @param classType The entity class. It must have a public zero-argument constructor.
+   * @return The mapper.
+   */
+  @SuppressWarnings("unchecked")
+  static <T> EntityMapper<T> forClass(Class<T> classType) {
+    return (EntityMapper<T>)MAPPERS.get(classType);
+  }
+
+  private EntityMapper(Class<T> classType) {
+    this.classType = classType;
+
+    try {
+      this.constructor = classType.getConstructor();
+    }
+    catch(NoSuchMethodException e) {
+      throw new DaoBase.DaoException(
+          "Class " + classType.getName() + " has no zero-argument constructor", e);
+    }
+
+    for(Field field : classType.getDeclaredFields()) {
+      if(Modifier.isStatic(field.getModifiers())) {
+        continue;
+      }
+
+      /*
+       * Set the field accessible flag which means that we can populate even private fields
+       * without using the setter.
+       */
+      field.setAccessible(true);
+      fieldsByColumn.put(camelCaseToSnakeCase(field.getName()), field);
+    }
+  }
+
+  /**
+   * Matches the fields of the entity to the columns of a result set. Columns are matched by label
+   * ignoring case, the same as {@link ResultSet#getObject(String)}. Fields without a matching
+   * column are skipped so their initial values are preserved.
+   *
+   * @param rs The result set that rows will be extracted from.
+   * @return A mapper that reads rows of this result set.
+   * @throws SQLException Thrown if the result set metadata cannot be read.
+   */
+  BoundMapper<T> bind(ResultSet rs) throws SQLException {
+    ResultSetMetaData metaData = rs.getMetaData();
+    List<Field> fields = new ArrayList<>();
+    List<Integer> columns = new ArrayList<>();
+
+    for(int column = metaData.getColumnCount(); column >= 1; column--) {
+      /* Walk backwards so that the first of any duplicate labels wins, like getObject(label). */
+      Field field = fieldsByColumn.get(metaData.getColumnLabel(column).toLowerCase(Locale.ROOT));
+
+      if(Objects.nonNull(field)) {
+        int existing = fields.indexOf(field);
+
+        if(existing >= 0) {
+          columns.set(existing, column);
+        }
+        else {
+          fields.add(field);
+          columns.add(column);
+        }
+      }
+    }
+
+    int[] columnIndexes = new int[columns.size()];
+    for(int index = 0; index < columnIndexes.length; index++) {
+      columnIndexes[index] = columns.get(index);
+    }
+
+    return new BoundMapper<>(this, fields.toArray(new Field[0]), columnIndexes);
+  }
+
+  /**
+   * This converts a camel case value (rowInsertTime) to snake case (row_insert_time).
+   *
+   * @param identifier The name in camel case to convert.
+   * @return The name converted to snake case.
+   */
+  private static String camelCaseToSnakeCase(String identifier) {
+    StringBuilder nameBuilder = new StringBuilder();
+
+    for(char ch : identifier.toCharArray()) {
+      if(Character.isUpperCase(ch)) {
+        nameBuilder.append('_').append(Character.toLowerCase(ch));
+      }
+      else {
+        nameBuilder.append(ch);
+      }
+    }
+
+    return nameBuilder.toString();
+  }
+
+  /**
+   * A mapper whose fields have been resolved to the column indexes of one result set.
+   *
+   * @param <T> The entity type created by this mapper.
+   */
+  static class BoundMapper<T> {
+    private final EntityMapper<T> mapper;
+    private final Field[] fields;
+    private final int[] columnIndexes;
+
+    private BoundMapper(EntityMapper<T> mapper, Field[] fields, int[] columnIndexes) {
+      this.mapper = mapper;
+      this.fields = fields;
+      this.columnIndexes = columnIndexes;
+    }
+
+    /**
+     * Creates an entity from the current row of the result set this mapper was bound to.
+     *
+     * @param rs The result set, positioned on the row to extract.
+     * @return The populated entity.
+     * @throws ReflectiveOperationException Thrown if the entity cannot be created or populated.
+     * @throws SQLException Thrown if a column cannot be read.
+     */
+    T extract(ResultSet rs) throws ReflectiveOperationException, SQLException {
+      T obj = mapper.constructor.newInstance();
+
+      for(int index = 0; index < fields.length; index++) {
+        Object fieldValue = rs.getObject(columnIndexes[index]);
+
+        /*
+         * Only set the value in the object if there is a value with the same name in the result
+         * set. This will preserve instance variables (like lists) that are assigned values when the
+         * object is created.
+         */
+        if(Objects.nonNull(fieldValue)) {
+          Field field = fields[index];
+          Class<?> fieldType = field.getType();
+
+          /*
+           * Convert the following types: Time -> LocalTime, and Timestamp -> LocalDateTime.
+           */
+          if(fieldValue instanceof Time && fieldType.equals(LocalTime.class)) {
+            fieldValue = ((Time)fieldValue).toLocalTime();
+          }
+          else if(fieldValue instanceof Timestamp && fieldType.equals(LocalDateTime.class)) {
+            fieldValue = ((Timestamp)fieldValue).toLocalDateTime();
+          }
+
+          field.set(obj, fieldValue);
+        }
+      }
+
+      return obj;
+    }
+
+    @Override
+    public String toString() {
+      return "BoundMapper[" + mapper.classType.getName() + ", columns=" + columnIndexes.length + "]";
+    }
+  }
+}
@@ -2,16 +2,21 @@ package projects;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.Scanner;
 import projects.entity.Category;
+import projects.entity.ImportReport;
 import projects.entity.Material;
 import projects.entity.Project;
+import projects.entity.ProjectPage;
 import projects.entity.Step;
 import projects.exception.DbException;
+import projects.metrics.Metrics;
 import projects.service.ProjectService;
 
 /*
@@ -19,6 +24,9 @@ import projects.service.ProjectService;
  * Afterwards those inputs are used to perform CRUD operations on the project tables
  */
 public class ProjectsApp {
+    // Number of projects shown per page when listing projects
+    private static final int PAGE_SIZE = 10;
+
     private Scanner scanner;
     private ProjectService projectService = new ProjectService();
 
@@ -29,12 +37,16 @@ public class ProjectsApp {
         "3) Update a project",
         "4) Delete a project",
         "5) Select a project",
+        "6) Import projects from a CSV or TSV file",
+        "7) Export all projects to a JSON lines file",
         "0) Exit"
     );
 	/*
      * Entry point to application
      */
 	public static void main(String[] args) {
+	    Metrics.startReporting(System.out);
+
 	    try (Scanner scanner = new Scanner(System.in)) {
 	        new ProjectsApp(scanner).processUserSelections();
 	    }
@@ -79,6 +91,12 @@ public class ProjectsApp {
                     case 5:
                         selectProject();
                         break;
+                    case 6:
+                        importProjects();
+                        break;
+                    case 7:
+                        exportProjects();
+                        break;
                     default:
                         System.out.println("\n" + selection + " is not a valid selection. Try again.");
                         break;
@@ -135,6 +153,55 @@ public class ProjectsApp {
     }
 
 
+    /**
+     * Imports projects from a CSV or TSV file and prints the import report, including the first
+     * rejected rows.
+     */
+    private void importProjects() {
+        String fileName = getStringInput("Enter the path of the CSV or TSV file to import");
+        if (fileName == null) {
+            System.out.println("No file entered. Returning to main menu.");
+            return;
+        }
+
+        Path file = Path.of(fileName);
+        if (!Files.isRegularFile(file)) {
+            System.out.println("File " + file + " not found.");
+            return;
+        }
+
+        ImportReport report = projectService.importProjects(file);
+        System.out.println("\n" + report);
+
+        if (!report.getRejects().isEmpty()) {
+            System.out.println("\nRejected rows:");
+            report.getRejects().forEach(reject -> System.out.println("  " + reject));
+
+            if (report.getRejectedRows() > report.getRejects().size()) {
+                System.out.println("  ... and " + (report.getRejectedRows() - report.getRejects().size()) + " more");
+            }
+        }
+    }
+
+    /**
+     * Exports every project to a JSON lines file and prints how many were written and how long it
+     * took.
+     */
+    private void exportProjects() {
+        String fileName = getStringInput("Enter the path of the JSON lines file to write");
+        if (fileName == null) {
+            System.out.println("No file entered. Returning to main menu.");
+            return;
+        }
+
+        long start = System.nanoTime();
+        long count = projectService.exportProjects(Path.of(fileName));
+        long millis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+
+        System.out.println("\nExported " + count + " projects to " + fileName + " in " + millis + " ms ("
+                + count * 1000 / millis + " projects/s).");
+    }
+
     /**
      * Gets user input from console and converts it to BigDecimal.
      *
@@ -242,12 +309,27 @@ public class ProjectsApp {
     }
 
     /**
-     * Lists all projects by fetching them from the ProjectService and printing each one.
+     * Lists projects one page at a time, asking the user before fetching each following page.
      */
     private void listProjects() {
-        List<Project> projects = projectService.fetchAllProjects();
+        Integer pageToken = null;
+
         System.out.println("\nProjects:");
-        projects.forEach(project -> System.out.println("  " + project));
+        do {
+            ProjectPage page = projectService.fetchProjectPage(pageToken, PAGE_SIZE);
+            page.getProjects().forEach(project -> System.out.println("  " + project));
+            pageToken = page.getNextPageToken();
+        } while (pageToken != null && isNextPageRequested());
+    }
+
+    /**
+     * Asks the user whether to show the next page of projects.
+     *
+     * @return {@code true} if the user asked for the next page.
+     */
+    private boolean isNextPageRequested() {
+        String input = getStringInput("Enter 'n' for the next page, or press Enter to continue");
+        return input != null && input.equalsIgnoreCase("n");
     }
 
 
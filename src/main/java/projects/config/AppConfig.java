@@ -0,0 +1,181 @@
+package projects.config;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+import projects.exception.DbException;
+
+/**
+ * The application configuration, loaded once per process. Settings are read from these sources,
+ * each overriding the ones before it:
+ * <ol>
+ * <li>{@code projects.properties} on the class path, which holds the defaults.</li>
+ * <li>{@code projects-<profile>.properties} on the class path, for the selected profile.</li>
+ * <li>Environment variables named after a key in either file: upper case, with dots and hyphens
+ * replaced by underscores ({@code projects.db.host} becomes {@code PROJECTS_DB_HOST}).</li>
+ * <li>System properties with the same name as the key. Any system property starting with
+ * {@code projects.} is included, even if no file defines it.</li>
+ * </ol>
+ * The profile is the {@code projects.profile} setting, looked up in the system properties, the
+ * environment ({@code PROJECTS_PROFILE}), and then the defaults file. The profiles shipped with the
+ * application are {@code oltp} (the default), {@code bulk-load}, and {@code reporting}.
+ */
+public final class AppConfig {
+    public static final String PROFILE_KEY = "projects.profile";
+
+    private static final String KEY_PREFIX = "projects.";
+    private static final String DEFAULTS_RESOURCE = "/projects.properties";
+    private static final String PROFILE_RESOURCE = "/projects-%s.properties";
+    private static final String DEFAULT_PROFILE = "oltp";
+
+    private final String profile;
+    private final Map<String, String> settings;
+
+    private AppConfig(String profile, Map<String, String> settings) {
+        this.profile = profile;
+        this.settings = settings;
+    }
+
+    /**
+     * Returns the configuration, loading it on first use.
+     *
+     * @return The configuration.
+     */
+    public static AppConfig get() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Loads the configuration from the class path and the given environment and system properties.
+     *
+     * @param environment The environment variables.
+     * @param system      The system properties.
+     * @return The configuration.
+     * @throws DbException If the profile has no properties file or a file cannot be read.
+     */
+    static AppConfig load(Map<String, String> environment, Properties system) {
+        Properties defaults = readResource(DEFAULTS_RESOURCE);
+
+        String profile = system.getProperty(PROFILE_KEY,
+                environment.getOrDefault(toEnvironmentName(PROFILE_KEY),
+                        defaults.getProperty(PROFILE_KEY, DEFAULT_PROFILE)));
+
+        Map<String, String> settings = new TreeMap<>();
+        putAll(settings, defaults);
+        putAll(settings, readResource(String.format(PROFILE_RESOURCE, profile)));
+
+        for (String key : settings.keySet()) {
+            String value = environment.get(toEnvironmentName(key));
+
+            if (value != null) {
+                settings.put(key, value);
+            }
+        }
+
+        for (String key : system.stringPropertyNames()) {
+            if (key.startsWith(KEY_PREFIX)) {
+                settings.put(key, system.getProperty(key));
+            }
+        }
+
+        settings.put(PROFILE_KEY, profile);
+        return new AppConfig(profile, settings);
+    }
+
+    public String getProfile() {
+        return profile;
+    }
+
+    /**
+     * @param key The setting name.
+     * @return The value, or null if the setting is not present.
+     */
+    public String getString(String key) {
+        return settings.get(key);
+    }
+
+    public String getString(String key, String defaultValue) {
+        return settings.getOrDefault(key, defaultValue);
+    }
+
+    public int getInt(String key, int defaultValue) {
+        String value = settings.get(key);
+        return value == null ? defaultValue : parse(key, value, Integer::valueOf);
+    }
+
+    public long getLong(String key, long defaultValue) {
+        String value = settings.get(key);
+        return value == null ? defaultValue : parse(key, value, Long::valueOf);
+    }
+
+    public boolean getBoolean(String key, boolean defaultValue) {
+        String value = settings.get(key);
+        return value == null ? defaultValue : Boolean.parseBoolean(value.trim());
+    }
+
+    /**
+     * Returns every setting whose name starts with a prefix, keyed by the rest of the name.
+     *
+     * @param prefix The prefix, for example {@code "projects.db.driver."}.
+     * @return The matching settings, sorted by name.
+     */
+    public Map<String, String> getWithPrefix(String prefix) {
+        Map<String, String> result = new TreeMap<>();
+
+        for (Map.Entry<String, String> entry : settings.entrySet()) {
+            if (entry.getKey().startsWith(prefix)) {
+                result.put(entry.getKey().substring(prefix.length()), entry.getValue());
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "AppConfig [profile=" + profile + ", settings=" + settings.size() + "]";
+    }
+
+    static String toEnvironmentName(String key) {
+        return key.toUpperCase(Locale.ROOT).replace('.', '_').replace('-', '_');
+    }
+
+    private interface Parser<T> {
+        T parse(String value);
+    }
+
+    private static <T> T parse(String key, String value, Parser<T> parser) {
+        try {
+            return parser.parse(value.trim());
+        } catch (NumberFormatException e) {
+            throw new DbException("Configuration setting " + key + " is not a number: " + value, e);
+        }
+    }
+
+    private static void putAll(Map<String, String> settings, Properties properties) {
+        for (String key : properties.stringPropertyNames()) {
+            settings.put(key, properties.getProperty(key).trim());
+        }
+    }
+
+    private static Properties readResource(String name) {
+        Properties properties = new Properties();
+
+        try (InputStream in = AppConfig.class.getResourceAsStream(name)) {
+            if (in == null) {
+                throw new DbException("Missing configuration resource " + name);
+            }
+            properties.load(in);
+        } catch (IOException e) {
+            throw new DbException("Unable to read configuration resource " + name, e);
+        }
+        return properties;
+    }
+
+    private static final class Holder {
+        private static final AppConfig INSTANCE = load(System.getenv(), System.getProperties());
+    }
+}
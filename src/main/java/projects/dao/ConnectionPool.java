@@ -0,0 +1,382 @@
+package projects.dao;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import projects.exception.DbException;
+
+/**
+ * A small, bounded, thread-safe JDBC connection pool. Connections handed out by {@link #borrow()}
+ * are proxies; calling {@code close()} on them returns the physical connection to the pool instead
+ * of closing it, so DAO code can keep using try-with-resources unchanged.
+ *
+ * <p>The pool keeps at least {@code minSize} connections open and never more than
+ * {@code maxSize}. Idle connections beyond the minimum are evicted after the idle timeout, and any
+ * connection older than the maximum lifetime is retired. Connections are validated before they are
+ * handed out.
+ */
+public class ConnectionPool implements AutoCloseable {
+    private static final long HOUSEKEEPING_INTERVAL_MILLIS = 30_000;
+
+    private final String uri;
+    private final int minSize;
+    private final int maxSize;
+    private final long idleTimeoutMillis;
+    private final long maxLifetimeMillis;
+    private final long borrowTimeoutMillis;
+    private final int validationTimeoutSeconds;
+
+    /* Most recently returned connections are at the head so hot connections are reused first. */
+    private final BlockingDeque<PooledConnection> idle = new LinkedBlockingDeque<>();
+    private final Semaphore permits;
+    private final AtomicInteger totalConnections = new AtomicInteger();
+    private final ScheduledExecutorService housekeeper;
+    private volatile boolean closed;
+
+    /**
+     * Creates the pool and opens the minimum number of connections.
+     *
+     * @param uri                      The JDBC URI used to open physical connections.
+     * @param minSize                  The number of connections to keep open while idle.
+     * @param maxSize                  The maximum number of open connections.
+     * @param idleTimeoutMillis        How long a connection above the minimum may sit idle.
+     * @param maxLifetimeMillis        How long a physical connection may live before it is retired.
+     * @param borrowTimeoutMillis      How long {@link #borrow()} waits for a free connection.
+     * @param validationTimeoutSeconds The timeout passed to {@link Connection#isValid(int)}.
+     */
+    public ConnectionPool(String uri, int minSize, int maxSize, long idleTimeoutMillis,
+            long maxLifetimeMillis, long borrowTimeoutMillis, int validationTimeoutSeconds) {
+        if (minSize < 0 || maxSize < 1 || minSize > maxSize) {
+            throw new IllegalArgumentException(
+                    "Invalid pool size: min=" + minSize + ", max=" + maxSize);
+        }
+
+        this.uri = uri;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.maxLifetimeMillis = maxLifetimeMillis;
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+        this.validationTimeoutSeconds = validationTimeoutSeconds;
+        this.permits = new Semaphore(maxSize, true);
+
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "connection-pool-housekeeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        fillToMinimum();
+        housekeeper.scheduleWithFixedDelay(this::housekeep, HOUSEKEEPING_INTERVAL_MILLIS,
+                HOUSEKEEPING_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Borrows a connection from the pool, opening a new one if no idle connection is available and
+     * the pool is below its maximum size. The caller must close the returned connection to give it
+     * back.
+     *
+     * @return A pooled connection.
+     * @throws DbException If the pool is closed, exhausted, or a connection cannot be opened.
+     */
+    public Connection borrow() {
+        acquire(1);
+
+        try {
+            return lease();
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Borrows several connections at once, for work that needs them all at the same time. The
+     * connections are reserved together, so two callers can't each hold some of the connections
+     * while waiting for the rest. The caller must close every returned connection.
+     *
+     * @param count The number of connections, at most the maximum pool size.
+     * @return The pooled connections.
+     * @throws DbException If the pool is closed, exhausted, or a connection cannot be opened.
+     */
+    public List<Connection> borrow(int count) {
+        if (count < 1 || count > maxSize) {
+            throw new IllegalArgumentException(
+                    "Cannot borrow " + count + " connections from a pool of " + maxSize);
+        }
+
+        acquire(count);
+        List<Connection> connections = new ArrayList<>(count);
+
+        try {
+            while (connections.size() < count) {
+                connections.add(lease());
+            }
+            return connections;
+        } catch (RuntimeException e) {
+            // Closing a lease releases its own permit
+            permits.release(count - connections.size());
+            connections.forEach(ConnectionPool::closeQuietly);
+            throw e;
+        }
+    }
+
+    /**
+     * Closes all idle connections and stops the housekeeping thread. Connections that are currently
+     * borrowed are closed when they are returned.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        housekeeper.shutdownNow();
+
+        PooledConnection pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            retire(pooled);
+        }
+    }
+
+    /**
+     * @return The number of physical connections currently open, borrowed or idle.
+     */
+    public int getTotalConnections() {
+        return totalConnections.get();
+    }
+
+    /**
+     * @return The maximum number of open connections.
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * @return The number of open connections waiting in the pool.
+     */
+    public int getIdleConnections() {
+        return idle.size();
+    }
+
+    /**
+     * Takes permits for connections, waiting up to the borrow timeout. The fair semaphore hands out
+     * a multi-permit request in one step, in arrival order.
+     */
+    private void acquire(int count) {
+        if (closed) {
+            throw new DbException("Connection pool is closed.");
+        }
+
+        try {
+            if (!permits.tryAcquire(count, borrowTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new DbException("Timed out after " + borrowTimeoutMillis + "ms waiting for "
+                        + (count == 1 ? "a database connection" : count + " database connections")
+                        + " (pool size " + maxSize + ").");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DbException("Interrupted while waiting for a database connection.", e);
+        }
+    }
+
+    /**
+     * Leases an idle connection, or opens a new one, for a permit the caller already holds.
+     */
+    private Connection lease() {
+        PooledConnection pooled;
+
+        while ((pooled = idle.pollFirst()) != null) {
+            if (!pooled.isExpired() && pooled.isValid()) {
+                return pooled.lease();
+            }
+            retire(pooled);
+        }
+
+        return open().lease();
+    }
+
+    private static void closeQuietly(Connection connection) {
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            /* A lease's close only returns it to the pool. */
+        }
+    }
+
+    /**
+     * Returns a connection to the pool. Any open transaction is rolled back and auto-commit is
+     * restored so the next borrower sees a clean connection.
+     */
+    private void release(PooledConnection pooled) {
+        try {
+            if (closed || pooled.isExpired() || pooled.physical.isClosed()) {
+                retire(pooled);
+                return;
+            }
+
+            if (!pooled.physical.getAutoCommit()) {
+                pooled.physical.rollback();
+                pooled.physical.setAutoCommit(true);
+            }
+
+            pooled.lastReturnedMillis = System.currentTimeMillis();
+            idle.offerFirst(pooled);
+        } catch (SQLException e) {
+            retire(pooled);
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Opens a new physical connection, counting it against the pool maximum.
+     */
+    private PooledConnection open() {
+        totalConnections.incrementAndGet();
+
+        try {
+            return new PooledConnection(DriverManager.getConnection(uri));
+        } catch (SQLException e) {
+            totalConnections.decrementAndGet();
+            throw new DbException("Unable to get connection at " + uri, e);
+        }
+    }
+
+    /**
+     * Closes the physical connection and removes it from the pool count.
+     */
+    private void retire(PooledConnection pooled) {
+        totalConnections.decrementAndGet();
+
+        try {
+            pooled.physical.close();
+        } catch (SQLException e) {
+            /* The connection is being discarded, so there is nothing more to do. */
+        }
+    }
+
+    /**
+     * Evicts idle connections that have outlived the idle timeout or the maximum lifetime, then tops
+     * the pool back up to its minimum size.
+     */
+    private void housekeep() {
+        long now = System.currentTimeMillis();
+
+        for (PooledConnection pooled : idle) {
+            boolean idleTooLong = now - pooled.lastReturnedMillis > idleTimeoutMillis
+                    && totalConnections.get() > minSize;
+
+            if ((idleTooLong || pooled.isExpired()) && idle.removeFirstOccurrence(pooled)) {
+                retire(pooled);
+            }
+        }
+
+        fillToMinimum();
+    }
+
+    private void fillToMinimum() {
+        try {
+            while (!closed && totalConnections.get() < minSize) {
+                idle.offerLast(open());
+            }
+        } catch (DbException e) {
+            System.err.println("Unable to open minimum pool connections: " + e.getMessage());
+        }
+    }
+
+    /**
+     * A physical connection along with the bookkeeping the pool needs to manage it.
+     */
+    private class PooledConnection {
+        private final Connection physical;
+        private final long createdMillis = System.currentTimeMillis();
+        private volatile long lastReturnedMillis = createdMillis;
+
+        PooledConnection(Connection physical) {
+            this.physical = physical;
+        }
+
+        boolean isExpired() {
+            return System.currentTimeMillis() - createdMillis > maxLifetimeMillis;
+        }
+
+        boolean isValid() {
+            try {
+                return physical.isValid(validationTimeoutSeconds);
+            } catch (SQLException e) {
+                return false;
+            }
+        }
+
+        /**
+         * Wraps the physical connection in a proxy whose {@code close()} returns it to the pool. A
+         * new proxy is created for every lease so a stale reference cannot return the connection
+         * twice.
+         */
+        Connection lease() {
+            return (Connection) Proxy.newProxyInstance(ConnectionPool.class.getClassLoader(),
+                    new Class<?>[] { Connection.class }, new LeaseHandler(this));
+        }
+    }
+
+    /**
+     * Delegates every call to the physical connection except {@code close()} and
+     * {@code isClosed()}, which operate on the lease.
+     */
+    private class LeaseHandler implements InvocationHandler {
+        private final PooledConnection pooled;
+        private boolean released;
+
+        LeaseHandler(PooledConnection pooled) {
+            this.pooled = pooled;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!released) {
+                        released = true;
+                        release(pooled);
+                    }
+                    return null;
+
+                case "isClosed":
+                    return released || pooled.physical.isClosed();
+
+                case "equals":
+                    return proxy == args[0];
+
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+
+                case "toString":
+                    return "PooledConnection[" + pooled.physical + "]";
+
+                default:
+                    if (released) {
+                        throw new SQLException("Connection has been returned to the pool.");
+                    }
+
+                    try {
+                        return method.invoke(pooled.physical, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+            }
+        }
+    }
+}
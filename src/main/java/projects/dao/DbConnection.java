@@ -1,28 +1,107 @@
 package projects.dao;
 
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
 import java.sql.Connection;
-import java.sql.DriverManager;
-import java.sql.SQLException;
-import projects.exception.DbException;
+import java.util.List;
+import java.util.Map;
+
+import projects.config.AppConfig;
 
 public class DbConnection {
-    private static final String HOST = "localhost";
-    private static final String PASSWORD = "projects";
-    private static final int PORT = 3306;
-    private static final String SCHEMA = "projects";
-    private static final String USER = "projects";
+    // Setting that replaces the whole JDBC URI, e.g. to point benchmarks at a stand-in database
+    private static final String URI_PROPERTY = "projects.db.uri";
+
+    // Settings under this prefix are passed to Connector/J as URI properties
+    private static final String DRIVER_PROPERTY_PREFIX = "projects.db.driver.";
+
+    private static volatile ConnectionPool pool;
 
+    /**
+     * Borrows a connection from the shared pool. Closing the returned connection gives it back to
+     * the pool rather than closing the underlying socket. If JDBC tracing is enabled, the connection
+     * is wrapped so its statements are timed and counted (see {@link JdbcTracing}).
+     *
+     * @return A pooled connection.
+     */
     public static Connection getConnection() {
-        String uri = String.format("jdbc:mysql://%s:%d/%s?user=%s&password=%s", 
-                                    HOST, PORT, SCHEMA, USER, PASSWORD);
-
-        try {
-            Connection conn = DriverManager.getConnection(uri);
-            System.out.println("Connection to schema '" + SCHEMA + "' is successful.");
-            return conn;
-        } catch (SQLException e) {
-            System.err.println("Unable to get connection at " + uri);
-            throw new DbException("Unable to get connection at " + uri, e);
+        return JdbcTracing.wrap(getPool().borrow());
+    }
+
+    /**
+     * Borrows several connections from the shared pool at once (see {@link ConnectionPool#borrow(int)}),
+     * for work that holds them all at the same time. Each is wrapped like {@link #getConnection()}.
+     *
+     * @param count The number of connections.
+     * @return The pooled connections. The caller must close each one.
+     */
+    public static List<Connection> getConnections(int count) {
+        List<Connection> connections = getPool().borrow(count);
+        connections.replaceAll(JdbcTracing::wrap);
+        return connections;
+    }
+
+    /**
+     * Returns the shared pool, creating it on first use from the connection and pool settings in
+     * {@link AppConfig}.
+     *
+     * @return The connection pool.
+     */
+    public static ConnectionPool getPool() {
+        ConnectionPool result = pool;
+
+        if (result == null) {
+            synchronized (DbConnection.class) {
+                result = pool;
+
+                if (result == null) {
+                    AppConfig config = AppConfig.get();
+
+                    result = new ConnectionPool(buildUri(config),
+                            config.getInt("projects.pool.minSize", 2),
+                            config.getInt("projects.pool.maxSize", 10),
+                            config.getLong("projects.pool.idleTimeoutMillis", 10 * 60 * 1000),
+                            config.getLong("projects.pool.maxLifetimeMillis", 30 * 60 * 1000),
+                            config.getLong("projects.pool.borrowTimeoutMillis", 30 * 1000),
+                            config.getInt("projects.pool.validationTimeoutSeconds", 2));
+                    Runtime.getRuntime().addShutdownHook(new Thread(result::close));
+
+                    System.out.println("Connection pool for schema '" + config.getString("projects.db.schema")
+                            + "' is ready (profile " + config.getProfile() + ").");
+                    pool = result;
+                }
+            }
         }
+
+        return result;
+    }
+
+    /**
+     * Builds the JDBC URI from the host, port, schema, and credentials, followed by every driver
+     * property. If {@code projects.db.uri} is set, it is used as is.
+     */
+    private static String buildUri(AppConfig config) {
+        String uri = config.getString(URI_PROPERTY);
+
+        if (uri != null && !uri.isBlank()) {
+            return uri;
+        }
+
+        StringBuilder builder = new StringBuilder(String.format("jdbc:mysql://%s:%d/%s?user=%s&password=%s",
+                config.getString("projects.db.host", "localhost"),
+                config.getInt("projects.db.port", 3306),
+                config.getString("projects.db.schema", "projects"),
+                encode(config.getString("projects.db.user", "projects")),
+                encode(config.getString("projects.db.password", "projects"))));
+
+        for (Map.Entry<String, String> property : config.getWithPrefix(DRIVER_PROPERTY_PREFIX).entrySet()) {
+            builder.append('&').append(property.getKey()).append('=').append(encode(property.getValue()));
+        }
+
+        return builder.toString();
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,144 @@
+package projects.dao;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+import projects.entity.Project;
+import projects.entity.ProjectPage;
+import projects.entity.Step;
+import projects.metrics.MetricsRegistry;
+import projects.metrics.OperationMetrics;
+
+/**
+ * A ProjectDao that records latency, call, error, and row counts for every public operation in a
+ * metrics registry. It is only created when metrics are enabled; otherwise the plain ProjectDao is
+ * used and nothing is recorded.
+ */
+public class InstrumentedProjectDao extends ProjectDao {
+    private final OperationMetrics insertProject;
+    private final OperationMetrics insertProjects;
+    private final OperationMetrics fetchAllProjects;
+    private final OperationMetrics fetchProjectPage;
+    private final OperationMetrics streamAllProjects;
+    private final OperationMetrics updateProject;
+    private final OperationMetrics appendSteps;
+    private final OperationMetrics deleteProject;
+    private final OperationMetrics fetchProjectById;
+    private final OperationMetrics fetchProjectByIdParallel;
+    private final OperationMetrics fetchProjectGraphById;
+    private final OperationMetrics modifyProjectDetails;
+
+    public InstrumentedProjectDao(MetricsRegistry registry) {
+        insertProject = registry.operation("ProjectDao.insertProject");
+        insertProjects = registry.operation("ProjectDao.insertProjects");
+        fetchAllProjects = registry.operation("ProjectDao.fetchAllProjects");
+        fetchProjectPage = registry.operation("ProjectDao.fetchProjectPage");
+        streamAllProjects = registry.operation("ProjectDao.streamAllProjects");
+        updateProject = registry.operation("ProjectDao.updateProject");
+        appendSteps = registry.operation("ProjectDao.appendSteps");
+        deleteProject = registry.operation("ProjectDao.deleteProject");
+        fetchProjectById = registry.operation("ProjectDao.fetchProjectById");
+        fetchProjectByIdParallel = registry.operation("ProjectDao.fetchProjectByIdParallel");
+        fetchProjectGraphById = registry.operation("ProjectDao.fetchProjectGraphById");
+        modifyProjectDetails = registry.operation("ProjectDao.modifyProjectDetails");
+    }
+
+    @Override
+    public Project insertProject(Project project) {
+        return record(insertProject, () -> super.insertProject(project), result -> 1);
+    }
+
+    @Override
+    public int insertProjects(Collection<Project> projects, int batchSize) {
+        return record(insertProjects, () -> super.insertProjects(projects, batchSize), Integer::longValue);
+    }
+
+    @Override
+    public List<Project> fetchAllProjects() {
+        return record(fetchAllProjects, super::fetchAllProjects, List::size);
+    }
+
+    @Override
+    public ProjectPage fetchProjectPage(Integer afterProjectId, int pageSize) {
+        return record(fetchProjectPage, () -> super.fetchProjectPage(afterProjectId, pageSize),
+                page -> page.getProjects().size());
+    }
+
+    @Override
+    public void streamAllProjects(Consumer<? super Project> action) {
+        LongAdder rows = new LongAdder();
+
+        record(streamAllProjects, () -> {
+            super.streamAllProjects(project -> {
+                rows.increment();
+                action.accept(project);
+            });
+            return null;
+        }, result -> rows.sum());
+    }
+
+    @Override
+    public int updateProject(Project project) {
+        return record(updateProject, () -> super.updateProject(project), Integer::longValue);
+    }
+
+    @Override
+    public List<Step> appendSteps(Integer projectId, List<Step> steps) {
+        return record(appendSteps, () -> super.appendSteps(projectId, steps), List::size);
+    }
+
+    @Override
+    public int deleteProject(Integer projectId) {
+        return record(deleteProject, () -> super.deleteProject(projectId), Integer::longValue);
+    }
+
+    @Override
+    public Optional<Project> fetchProjectById(Integer projectId) {
+        return record(fetchProjectById, () -> super.fetchProjectById(projectId), result -> result.isPresent() ? 1 : 0);
+    }
+
+    @Override
+    public Optional<Project> fetchProjectByIdParallel(Integer projectId) {
+        return record(fetchProjectByIdParallel, () -> super.fetchProjectByIdParallel(projectId),
+                result -> result.isPresent() ? 1 : 0);
+    }
+
+    @Override
+    public Optional<Project> fetchProjectGraphById(Integer projectId) {
+        return record(fetchProjectGraphById, () -> super.fetchProjectGraphById(projectId),
+                result -> result.isPresent() ? 1 : 0);
+    }
+
+    @Override
+    public boolean modifyProjectDetails(Project project) {
+        return record(modifyProjectDetails, () -> super.modifyProjectDetails(project), result -> result ? 1 : 0);
+    }
+
+    /**
+     * Runs a DAO call and records its latency and row count, or an error if it throws.
+     *
+     * @param metrics The metrics of the operation.
+     * @param call    The DAO call.
+     * @param rows    Computes the number of rows from the result.
+     * @return The result of the call.
+     */
+    private <T> T record(OperationMetrics metrics, Supplier<T> call, ToLongFunction<T> rows) {
+        long start = System.nanoTime();
+        T result;
+
+        try {
+            result = call.get();
+        } catch (RuntimeException e) {
+            metrics.recordError(System.nanoTime() - start);
+            throw e;
+        }
+
+        metrics.recordSuccess(System.nanoTime() - start, rows.applyAsLong(result));
+        return result;
+    }
+}
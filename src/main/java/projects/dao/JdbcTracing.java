@@ -0,0 +1,166 @@
+package projects.dao;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import projects.config.AppConfig;
+
+/**
+ * Wraps the JDBC objects handed out by {@link DbConnection} in proxies that time every executed
+ * statement. Statements slower than the threshold are printed with their SQL and bound parameters
+ * (for a batch, the parameters of every row), and every statement is counted against the current {@link QueryTracker} scope.
+ *
+ * <p>Tracing is off unless the setting {@code projects.jdbc.tracing.enabled} is {@code true} (see
+ * {@link AppConfig}). The slow statement threshold is {@code projects.jdbc.slowQueryMillis} (default
+ * 500) and the per-call statement warning threshold is {@code projects.jdbc.statementsPerCallWarn}
+ * (default 50).
+ */
+public final class JdbcTracing {
+    private static final boolean ENABLED = AppConfig.get().getBoolean("projects.jdbc.tracing.enabled", false);
+    private static final long SLOW_QUERY_NANOS =
+            TimeUnit.MILLISECONDS.toNanos(AppConfig.get().getLong("projects.jdbc.slowQueryMillis", 500));
+    private static final int STATEMENT_WARN_THRESHOLD =
+            AppConfig.get().getInt("projects.jdbc.statementsPerCallWarn", 50);
+
+    private JdbcTracing() {
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    static int getStatementWarnThreshold() {
+        return STATEMENT_WARN_THRESHOLD;
+    }
+
+    /**
+     * Wraps a connection so the statements it creates are traced. Returns the connection unchanged
+     * if tracing is disabled.
+     *
+     * @param conn The connection.
+     * @return The traced connection.
+     */
+    static Connection wrap(Connection conn) {
+        if (!ENABLED) {
+            return conn;
+        }
+
+        return (Connection) Proxy.newProxyInstance(JdbcTracing.class.getClassLoader(),
+                new Class<?>[] { Connection.class }, new ConnectionHandler(conn));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Wraps statements returned by the connection and passes everything else through.
+     */
+    private static class ConnectionHandler implements InvocationHandler {
+        private final Connection conn;
+
+        ConnectionHandler(Connection conn) {
+            this.conn = conn;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = JdbcTracing.invoke(conn, method, args);
+
+            switch (method.getName()) {
+                case "createStatement":
+                    return wrapStatement(Statement.class, result, null);
+
+                case "prepareStatement":
+                    return wrapStatement(PreparedStatement.class, result, (String) args[0]);
+
+                case "prepareCall":
+                    return wrapStatement(CallableStatement.class, result, (String) args[0]);
+
+                default:
+                    return result;
+            }
+        }
+
+        private Object wrapStatement(Class<?> type, Object stmt, String sql) {
+            return Proxy.newProxyInstance(JdbcTracing.class.getClassLoader(), new Class<?>[] { type },
+                    new StatementHandler(stmt, sql));
+        }
+    }
+
+    /**
+     * Records bound parameters and times statement execution.
+     */
+    private static class StatementHandler implements InvocationHandler {
+        private final Object stmt;
+        private final String sql;
+        private final Map<Integer, Object> parameters = new TreeMap<>();
+        // The parameters of each row added to the current batch
+        private final List<List<Object>> batchRows = new ArrayList<>();
+
+        StatementHandler(Object stmt, String sql) {
+            this.stmt = stmt;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                parameters.put((Integer) args[0], name.equals("setNull") ? null : args[1]);
+            } else if (name.equals("clearParameters")) {
+                parameters.clear();
+            } else if (name.equals("addBatch")) {
+                batchRows.add(new ArrayList<>(parameters.values()));
+            } else if (name.equals("clearBatch")) {
+                batchRows.clear();
+            } else if (name.startsWith("execute")) {
+                return execute(method, args);
+            }
+
+            return JdbcTracing.invoke(stmt, method, args);
+        }
+
+        private Object execute(Method method, Object[] args) throws Throwable {
+            // Plain statements pass their SQL to execute(); prepared statements were given it earlier
+            String executedSql = args != null && args.length > 0 && args[0] instanceof String
+                    ? (String) args[0] : sql;
+            long start = System.nanoTime();
+
+            try {
+                return JdbcTracing.invoke(stmt, method, args);
+            } finally {
+                long elapsed = System.nanoTime() - start;
+                QueryTracker.statementExecuted();
+
+                boolean batch = method.getName().equals("executeBatch");
+
+                if (elapsed >= SLOW_QUERY_NANOS) {
+                    System.out.println("Slow statement (" + TimeUnit.NANOSECONDS.toMillis(elapsed) + " ms"
+                            + (batch ? ", batch of " + batchRows.size() : "") + "): " + executedSql
+                            + (batch ? " rows=" + batchRows : " parameters=" + parameters.values()));
+                }
+
+                if (batch) {
+                    batchRows.clear();
+                }
+            }
+        }
+    }
+}
@@ -6,14 +6,32 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
 
 import projects.entity.Material;
 import projects.entity.Project;
+import projects.entity.ProjectPage;
 import projects.entity.Step;
 import projects.entity.Category;
 import projects.exception.DbException;
+import projects.exception.ProjectConflictException;
 import projects.DaoBase;
 
 /**
@@ -27,6 +45,185 @@ public class ProjectDao extends DaoBase {
     private static final String PROJECT_TABLE = "project";
     private static final String PROJECT_CATEGORY_TABLE = "project_category";
     private static final String STEP_TABLE = "step";
+    private static final String STEP_ORDER_SEQUENCE_TABLE = "step_order_sequence";
+
+    // Row types of the single round-trip project graph query
+    private static final int GRAPH_PROJECT_ROW = 1;
+    private static final int GRAPH_MATERIAL_ROW = 2;
+    private static final int GRAPH_STEP_ROW = 3;
+    private static final int GRAPH_CATEGORY_ROW = 4;
+
+    /*
+     * Reads a project and all of its children in one query. Every branch returns the same columns:
+     * row_type, id, name, text_value, int_value, decimal_value, decimal_value2, sort_key, int_value2.
+     */
+    private static final String PROJECT_GRAPH_SQL = ""
+            + "SELECT " + GRAPH_PROJECT_ROW + " AS row_type, project_id AS id, project_name AS name, "
+            + "notes AS text_value, difficulty AS int_value, estimated_hours AS decimal_value, "
+            + "actual_hours AS decimal_value2, 0 AS sort_key, version AS int_value2 "
+            + "FROM " + PROJECT_TABLE + " WHERE project_id = ? "
+            + "UNION ALL "
+            + "SELECT " + GRAPH_MATERIAL_ROW + ", material_id, material_name, NULL, num_required, cost, NULL, material_id, NULL "
+            + "FROM " + MATERIAL_TABLE + " WHERE project_id = ? "
+            + "UNION ALL "
+            + "SELECT " + GRAPH_STEP_ROW + ", step_id, NULL, step_text, step_order, NULL, NULL, step_order, NULL "
+            + "FROM " + STEP_TABLE + " WHERE project_id = ? "
+            + "UNION ALL "
+            + "SELECT " + GRAPH_CATEGORY_ROW + ", c.category_id, c.category_name, NULL, NULL, NULL, NULL, c.category_id, NULL "
+            + "FROM " + CATEGORY_TABLE + " c JOIN " + PROJECT_CATEGORY_TABLE + " pc USING (category_id) "
+            + "WHERE pc.project_id = ? "
+            + "ORDER BY row_type, sort_key, id";
+
+    /*
+     * Category IDs keyed by category name. Categories are never deleted by the application, so an
+     * entry stays valid once the row that created it has committed.
+     */
+    private static final Map<String, Integer> CATEGORY_ID_CACHE = new ConcurrentHashMap<>();
+
+    // Maximum number of project IDs sent in one IN list when loading children for a subset of projects
+    private static final int CHILD_FETCH_CHUNK_SIZE = 500;
+
+    // Number of streamed projects held in memory while their children are loaded
+    private static final int STREAM_BATCH_SIZE = 100;
+
+    // Hands out step_order values for appended steps from a per-project counter
+    private static final SequenceAllocator STEP_ORDER_ALLOCATOR =
+            new SequenceAllocator(STEP_ORDER_SEQUENCE_TABLE, STEP_TABLE, "project_id", "step_order", 50);
+
+    /*
+     * IN lists are padded (by repeating their last value) up to one of these sizes, so each IN-list
+     * query has a small, fixed set of statement texts that the driver and server can cache, instead
+     * of one text per list length.
+     */
+    private static final int[] IN_LIST_SIZES = { 1, 2, 4, 8, 16, 32, 64, 128, 256, CHILD_FETCH_CHUNK_SIZE };
+
+    /*
+     * Every statement is a constant so that the same text is prepared on every call. With
+     * useServerPrepStmts and cachePrepStmts on the connection (see DbConnection), the driver keeps
+     * each statement prepared on the server and reuses it instead of sending and parsing the SQL
+     * again.
+     */
+    private static final String INSERT_PROJECT_SQL = ""
+            + "INSERT INTO " + PROJECT_TABLE + " "
+            + "(project_name, estimated_hours, actual_hours, difficulty, notes) "
+            + "VALUES "
+            + "(?, ?, ?, ?, ?)";
+    private static final String INSERT_MATERIAL_SQL =
+            "INSERT INTO " + MATERIAL_TABLE + " (material_name, num_required, cost, project_id) VALUES (?, ?, ?, ?)";
+    private static final String INSERT_STEP_SQL =
+            "INSERT INTO " + STEP_TABLE + " (step_text, step_order, project_id) VALUES (?, ?, ?)";
+    private static final String INSERT_PROJECT_CATEGORY_SQL =
+            "INSERT INTO " + PROJECT_CATEGORY_TABLE + " (project_id, category_id) VALUES (?, ?)";
+    private static final String UPSERT_CATEGORY_SQL =
+            "INSERT INTO " + CATEGORY_TABLE + " (category_name) VALUES (?) "
+            + "ON DUPLICATE KEY UPDATE category_name = category_name";
+    private static final String[] CATEGORY_IDS_BY_NAME_SQL = categoryIdStatements("");
+    // Locking read, so it sees categories committed after the transaction's snapshot
+    private static final String[] CATEGORY_IDS_BY_NAME_FOR_UPDATE_SQL = categoryIdStatements(" FOR UPDATE");
+
+    private static final String ALL_PROJECTS_SQL =
+            "SELECT " + RowMappers.PROJECT_COLUMNS + " FROM " + PROJECT_TABLE + " ORDER BY project_id";
+    private static final String PROJECT_PAGE_SQL =
+            "SELECT " + RowMappers.PROJECT_COLUMNS + " FROM " + PROJECT_TABLE + " "
+            + "WHERE project_id > ? ORDER BY project_id LIMIT ?";
+    private static final String PROJECT_BY_ID_SQL =
+            "SELECT " + RowMappers.PROJECT_COLUMNS + " FROM " + PROJECT_TABLE + " WHERE project_id = ?";
+    private static final String PROJECT_VERSION_SQL =
+            "SELECT version FROM " + PROJECT_TABLE + " WHERE project_id = ?";
+
+    private static final String ALL_MATERIALS_SQL =
+            "SELECT " + RowMappers.MATERIAL_COLUMNS + " FROM " + MATERIAL_TABLE + " ORDER BY project_id, material_id";
+    private static final String[] MATERIALS_BY_PROJECT_IDS_SQL = inListStatements(
+            "SELECT " + RowMappers.MATERIAL_COLUMNS + " FROM " + MATERIAL_TABLE + " WHERE project_id IN (",
+            ") ORDER BY project_id, material_id");
+    private static final String MATERIALS_BY_PROJECT_SQL =
+            "SELECT " + RowMappers.MATERIAL_COLUMNS + " FROM " + MATERIAL_TABLE + " WHERE project_id = ? ORDER BY material_id";
+
+    private static final String ALL_STEPS_SQL =
+            "SELECT " + RowMappers.STEP_COLUMNS + " FROM " + STEP_TABLE + " ORDER BY project_id, step_order";
+    private static final String[] STEPS_BY_PROJECT_IDS_SQL = inListStatements(
+            "SELECT " + RowMappers.STEP_COLUMNS + " FROM " + STEP_TABLE + " WHERE project_id IN (",
+            ") ORDER BY project_id, step_order");
+    private static final String STEPS_BY_PROJECT_SQL =
+            "SELECT " + RowMappers.STEP_COLUMNS + " FROM " + STEP_TABLE + " WHERE project_id = ? ORDER BY step_order";
+
+    /*
+     * project_id follows the category columns. The per-project reads sort by pc.category_id (equal to
+     * c.category_id) so the project_category primary key returns the rows already in order.
+     */
+    private static final String ALL_CATEGORIES_SQL =
+            "SELECT " + RowMappers.CATEGORY_COLUMNS + ", pc.project_id "
+            + "FROM " + CATEGORY_TABLE + " c JOIN " + PROJECT_CATEGORY_TABLE + " pc USING (category_id) "
+            + "ORDER BY pc.project_id, c.category_id";
+    private static final String[] CATEGORIES_BY_PROJECT_IDS_SQL = inListStatements(
+            "SELECT " + RowMappers.CATEGORY_COLUMNS + ", pc.project_id "
+            + "FROM " + CATEGORY_TABLE + " c JOIN " + PROJECT_CATEGORY_TABLE + " pc USING (category_id) "
+            + "WHERE pc.project_id IN (",
+            ") ORDER BY pc.project_id, pc.category_id");
+    private static final String CATEGORIES_BY_PROJECT_SQL =
+            "SELECT " + RowMappers.CATEGORY_COLUMNS + " "
+            + "FROM " + CATEGORY_TABLE + " c JOIN " + PROJECT_CATEGORY_TABLE + " pc USING (category_id) "
+            + "WHERE pc.project_id = ? ORDER BY pc.category_id";
+
+    private static final String UPDATE_PROJECT_SQL =
+            "UPDATE " + PROJECT_TABLE + " SET project_name = ?, estimated_hours = ?, actual_hours = ?, difficulty = ?, notes = ?, "
+            + "version = version + 1 WHERE project_id = ? AND version = ?";
+    private static final String BUMP_PROJECT_VERSION_SQL =
+            "UPDATE " + PROJECT_TABLE + " SET version = version + 1 WHERE project_id = ?";
+    private static final String UPDATE_MATERIAL_SQL =
+            "UPDATE " + MATERIAL_TABLE + " SET material_name = ?, num_required = ?, cost = ? WHERE material_id = ?";
+    private static final String UPDATE_STEP_SQL =
+            "UPDATE " + STEP_TABLE + " SET step_text = ?, step_order = ? WHERE step_id = ?";
+
+    private static final String DELETE_PROJECT_SQL = "DELETE FROM " + PROJECT_TABLE + " WHERE project_id = ?";
+    private static final String DELETE_MATERIAL_SQL = "DELETE FROM " + MATERIAL_TABLE + " WHERE material_id = ?";
+    private static final String DELETE_STEP_SQL = "DELETE FROM " + STEP_TABLE + " WHERE step_id = ?";
+    private static final String DELETE_PROJECT_CATEGORY_SQL =
+            "DELETE FROM " + PROJECT_CATEGORY_TABLE + " WHERE project_id = ? AND category_id = ?";
+
+    /*
+     * Parameter binders for the statements above that write entities, built once and reused for
+     * every row. Each lists the statement's parameters in order. Nulls in material quantities and
+     * costs are written as 0 and 0.00.
+     */
+    private static final StatementBinder<Project> INSERT_PROJECT_BINDER = StatementBinder.<Project>builder()
+            .string(Project::getProjectName)
+            .decimal(Project::getEstimatedHours)
+            .decimal(Project::getActualHours)
+            .integer(Project::getDifficulty)
+            .string(Project::getNotes)
+            .build();
+    private static final StatementBinder<Project> UPDATE_PROJECT_BINDER = StatementBinder.<Project>builder()
+            .string(Project::getProjectName)
+            .decimal(Project::getEstimatedHours)
+            .decimal(Project::getActualHours)
+            .integer(Project::getDifficulty)
+            .string(Project::getNotes)
+            .intValue(Project::getProjectId)
+            .intValue(Project::getVersion)
+            .build();
+    private static final StatementBinder<Material> INSERT_MATERIAL_BINDER = StatementBinder.<Material>builder()
+            .string(Material::getMaterialName)
+            .intValue(material -> material.getNumRequired() != null ? material.getNumRequired() : 0)
+            .decimal(material -> material.getCost() != null ? material.getCost() : BigDecimal.ZERO)
+            .intValue(Material::getProjectId)
+            .build();
+    private static final StatementBinder<Material> UPDATE_MATERIAL_BINDER = StatementBinder.<Material>builder()
+            .string(Material::getMaterialName)
+            .intValue(material -> material.getNumRequired() != null ? material.getNumRequired() : 0)
+            .decimal(material -> material.getCost() != null ? material.getCost() : BigDecimal.ZERO)
+            .intValue(Material::getMaterialId)
+            .build();
+    private static final StatementBinder<Step> INSERT_STEP_BINDER = StatementBinder.<Step>builder()
+            .string(Step::getStepText)
+            .intValue(Step::getStepOrder)
+            .intValue(Step::getProjectId)
+            .build();
+    private static final StatementBinder<Step> UPDATE_STEP_BINDER = StatementBinder.<Step>builder()
+            .string(Step::getStepText)
+            .intValue(Step::getStepOrder)
+            .intValue(Step::getStepId)
+            .build();
 
     /**
      * Insert a project row into the project table along with its materials, steps, and categories.
@@ -35,41 +232,38 @@ public class ProjectDao extends DaoBase {
      * @return The Project object with the primary key.
      */
     public Project insertProject(Project project) {
-        String sql = ""
-                + "INSERT INTO " + PROJECT_TABLE + " "
-                + "(project_name, estimated_hours, actual_hours, difficulty, notes) "
-                + "VALUES "
-                + "(?, ?, ?, ?, ?)";
-
         try (Connection conn = DbConnection.getConnection()) {
             try {
                 startTransaction(conn); // Start transaction
 
                 // Insert into PROJECT table
-                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-                    setParameter(stmt, 1, project.getProjectName(), String.class);
-                    setParameter(stmt, 2, project.getEstimatedHours(), BigDecimal.class);
-                    setParameter(stmt, 3, project.getActualHours(), BigDecimal.class);
-                    setParameter(stmt, 4, project.getDifficulty(), Integer.class);
-                    setParameter(stmt, 5, project.getNotes(), String.class);
+                try (PreparedStatement stmt = conn.prepareStatement(INSERT_PROJECT_SQL, PreparedStatement.RETURN_GENERATED_KEYS)) {
+                    INSERT_PROJECT_BINDER.bind(stmt, project);
 
                     stmt.executeUpdate(); // Execute the INSERT statement
+
+                    // Retrieve generated project ID from the INSERT's own response, with no extra round trip
+                    try (ResultSet rs = stmt.getGeneratedKeys()) {
+                        if (!rs.next()) {
+                            throw new SQLException("Failed to retrieve generated project_id");
+                        }
+                        project.setProjectId(rs.getInt(1)); // Set the generated ID to the project object
+                    }
                 }
 
-                // Retrieve generated project ID
-                Integer projectID = getLastInsertId(conn, PROJECT_TABLE);
-                project.setProjectId(projectID); // Set the generated ID to the project object
+                project.setVersion(0); // New rows start at the column default
 
                 // Insert Materials
-                insertMaterials(conn, project);
+                insertMaterials(conn, List.of(project));
 
                 // Insert Steps
-                insertSteps(conn, project);
+                insertSteps(conn, List.of(project));
 
                 // Insert Categories
-                insertCategories(conn, project);
+                Map<String, Integer> createdCategoryIds = insertCategories(conn, List.of(project));
 
                 commitTransaction(conn); // Commit transaction
+                cacheCategoryIds(createdCategoryIds);
 
                 return project; // Return the project with the ID
             } catch (Exception e) {
@@ -82,25 +276,119 @@ public class ProjectDao extends DaoBase {
     }
 
     /**
-     * Insert materials associated with a project.
+     * Insert many projects along with their materials, steps, and categories. The projects are
+     * written in batches of {@code batchSize}, one transaction per batch. Within a batch, the project
+     * rows and each kind of child row are sent with JDBC batching, which the driver rewrites into
+     * multi-row INSERT statements (rewriteBatchedStatements), and the generated keys are set on the
+     * entities. If a batch fails, it is rolled back and the exception is thrown; earlier batches stay
+     * committed.
      *
-     * @param conn    The database connection.
-     * @param project The project containing materials.
+     * @param projects  The projects to insert.
+     * @param batchSize The number of projects written per transaction.
+     * @return The number of projects inserted.
+     */
+    public int insertProjects(Collection<Project> projects, int batchSize) {
+        List<Project> batch = new ArrayList<>(Math.min(batchSize, projects.size()));
+        int inserted = 0;
+
+        try (Connection conn = DbConnection.getConnection()) {
+            for (Project project : projects) {
+                batch.add(project);
+
+                if (batch.size() == batchSize) {
+                    inserted += insertProjectBatch(conn, batch);
+                    batch.clear();
+                }
+            }
+
+            if (!batch.isEmpty()) {
+                inserted += insertProjectBatch(conn, batch);
+            }
+
+            return inserted;
+        } catch (SQLException e) {
+            throw new DbException("Error inserting projects: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Insert one batch of projects and their children in a single transaction.
+     *
+     * @param conn  The database connection.
+     * @param batch The projects to insert.
+     * @return The number of projects inserted.
+     * @throws SQLException If a database access error occurs.
+     */
+    private int insertProjectBatch(Connection conn, List<Project> batch) throws SQLException {
+        try {
+            startTransaction(conn);
+
+            try (PreparedStatement stmt = conn.prepareStatement(INSERT_PROJECT_SQL, PreparedStatement.RETURN_GENERATED_KEYS)) {
+                for (Project project : batch) {
+                    INSERT_PROJECT_BINDER.bind(stmt, project);
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+
+                // Generated keys come back in the order the rows were added
+                try (ResultSet rs = stmt.getGeneratedKeys()) {
+                    int index = 0;
+                    while (rs.next()) {
+                        Project project = batch.get(index++);
+                        project.setProjectId(rs.getInt(1));
+                        project.setVersion(0);
+                    }
+                }
+            }
+
+            insertMaterials(conn, batch);
+            insertSteps(conn, batch);
+            Map<String, Integer> createdCategoryIds = insertCategories(conn, batch);
+
+            commitTransaction(conn);
+            cacheCategoryIds(createdCategoryIds);
+            return batch.size();
+        } catch (SQLException | RuntimeException e) {
+            rollbackTransaction(conn);
+            throw e;
+        }
+    }
+
+    /**
+     * Insert the materials of one or more projects in one JDBC batch.
+     *
+     * @param conn     The database connection.
+     * @param projects The projects containing materials. Each must already have its ID.
      * @throws SQLException If a database access error occurs.
      */
-    private void insertMaterials(Connection conn, Project project) throws SQLException {
-        List<Material> materials = project.getMaterials();
-        if (materials == null || materials.isEmpty()) {
+    private void insertMaterials(Connection conn, Collection<Project> projects) throws SQLException {
+        List<Material> materials = new ArrayList<>();
+
+        for (Project project : projects) {
+            for (Material material : project.getMaterials()) {
+                material.setProjectId(project.getProjectId());
+                materials.add(material);
+            }
+        }
+
+        insertMaterialRows(conn, materials);
+    }
+
+    /**
+     * Insert material rows in one JDBC batch and set their generated IDs.
+     *
+     * @param conn      The database connection.
+     * @param materials The materials to insert. Each must already have its project ID.
+     * @throws SQLException If a database access error occurs.
+     */
+    private void insertMaterialRows(Connection conn, List<Material> materials) throws SQLException {
+        if (materials.isEmpty()) {
             return;
         }
 
-        String sql = "INSERT INTO " + MATERIAL_TABLE + " (material_name, num_required, cost, project_id) VALUES (?, ?, ?, ?)";
-        try (PreparedStatement stmt = conn.prepareStatement(sql, PreparedStatement.RETURN_GENERATED_KEYS)) {
+        try (PreparedStatement stmt = conn.prepareStatement(INSERT_MATERIAL_SQL, PreparedStatement.RETURN_GENERATED_KEYS)) {
             for (Material material : materials) {
-                stmt.setString(1, material.getMaterialName());
-                stmt.setInt(2, material.getNumRequired() != null ? material.getNumRequired() : 0);
-                stmt.setBigDecimal(3, material.getCost() != null ? material.getCost() : BigDecimal.ZERO);
-                stmt.setInt(4, project.getProjectId());
+                INSERT_MATERIAL_BINDER.bind(stmt, material);
                 stmt.addBatch();
             }
             stmt.executeBatch();
@@ -116,25 +404,45 @@ public class ProjectDao extends DaoBase {
     }
 
     /**
-     * Insert steps associated with a project.
+     * Insert the steps of one or more projects in one JDBC batch. Steps are numbered from 1 within
+     * each project in list order. The projects are new, so they have no step order counter yet; the
+     * first allocation for a project seeds its counter from these rows (see
+     * {@link SequenceAllocator}).
      *
-     * @param conn    The database connection.
-     * @param project The project containing steps.
+     * @param conn     The database connection.
+     * @param projects The projects containing steps. Each must already have its ID.
      * @throws SQLException If a database access error occurs.
      */
-    private void insertSteps(Connection conn, Project project) throws SQLException {
-        List<Step> steps = project.getSteps();
-        if (steps == null || steps.isEmpty()) {
+    private void insertSteps(Connection conn, Collection<Project> projects) throws SQLException {
+        List<Step> steps = new ArrayList<>();
+
+        for (Project project : projects) {
+            int order = 1;
+            for (Step step : project.getSteps()) {
+                step.setProjectId(project.getProjectId());
+                step.setStepOrder(order++);
+                steps.add(step);
+            }
+        }
+
+        insertStepRows(conn, steps);
+    }
+
+    /**
+     * Insert step rows in one JDBC batch and set their generated IDs.
+     *
+     * @param conn  The database connection.
+     * @param steps The steps to insert. Each must already have its project ID and step order.
+     * @throws SQLException If a database access error occurs.
+     */
+    private void insertStepRows(Connection conn, List<Step> steps) throws SQLException {
+        if (steps.isEmpty()) {
             return;
         }
 
-        String sql = "INSERT INTO " + STEP_TABLE + " (step_text, step_order, project_id) VALUES (?, ?, ?)";
-        try (PreparedStatement stmt = conn.prepareStatement(sql, PreparedStatement.RETURN_GENERATED_KEYS)) {
-            int order = 1;
+        try (PreparedStatement stmt = conn.prepareStatement(INSERT_STEP_SQL, PreparedStatement.RETURN_GENERATED_KEYS)) {
             for (Step step : steps) {
-                stmt.setString(1, step.getStepText());
-                stmt.setInt(2, order++);
-                stmt.setInt(3, project.getProjectId());
+                INSERT_STEP_BINDER.bind(stmt, step);
                 stmt.addBatch();
             }
             stmt.executeBatch();
@@ -150,101 +458,555 @@ public class ProjectDao extends DaoBase {
     }
 
     /**
-     * Insert categories associated with a project.
+     * Append steps to the end of an existing project. The step_order values come from the project's
+     * step order counter (see {@link SequenceAllocator}), so appending needs neither a count of the
+     * existing steps nor a lock held across the insert. The values increase but may have gaps.
+     * The project's version is incremented in the same transaction, so an update of the project as
+     * it was read before the append fails with a conflict instead of overwriting the new steps.
      *
-     * @param conn    The database connection.
-     * @param project The project containing categories.
-     * @throws SQLException If a database access error occurs.
+     * @param projectId The ID of the project.
+     * @param steps     The steps to append. Each is given its project ID, step order, and step ID.
+     * @return The steps.
      */
-    private void insertCategories(Connection conn, Project project) throws SQLException {
-        List<Category> categories = project.getCategories();
-        if (categories == null || categories.isEmpty()) {
-            return;
+    public List<Step> appendSteps(Integer projectId, List<Step> steps) {
+        if (steps.isEmpty()) {
+            return steps;
         }
 
-        String findCategorySql = "SELECT category_id FROM " + CATEGORY_TABLE + " WHERE category_name = ?";
-        String insertCategorySql = "INSERT INTO " + CATEGORY_TABLE + " (category_name) VALUES (?)";
-        String insertProjectCategorySql = "INSERT INTO " + PROJECT_CATEGORY_TABLE + " (project_id, category_id) VALUES (?, ?)";
+        // Reserve the step orders before borrowing the insert connection, so a call never holds two
+        // pooled connections at once
+        int order = STEP_ORDER_ALLOCATOR.allocate(projectId, steps.size());
+
+        for (Step step : steps) {
+            step.setProjectId(projectId);
+            step.setStepOrder(order++);
+        }
 
-        try (PreparedStatement findCatStmt = conn.prepareStatement(findCategorySql);
-             PreparedStatement insCatStmt = conn.prepareStatement(insertCategorySql, PreparedStatement.RETURN_GENERATED_KEYS);
-             PreparedStatement insProjCatStmt = conn.prepareStatement(insertProjectCategorySql)) {
+        try (Connection conn = DbConnection.getConnection()) {
+            try {
+                startTransaction(conn); // Start transaction
 
-            for (Category category : categories) {
-                String categoryName = category.getCategoryName();
-                Integer categoryId = null;
+                try (PreparedStatement stmt = conn.prepareStatement(BUMP_PROJECT_VERSION_SQL)) {
+                    setParameter(stmt, 1, projectId, Integer.class);
 
-                // Check if category exists
-                findCatStmt.setString(1, categoryName);
-                try (ResultSet rs = findCatStmt.executeQuery()) {
-                    if (rs.next()) {
-                        categoryId = rs.getInt("category_id");
+                    if (stmt.executeUpdate() == 0) {
+                        throw new DbException("Project with ID=" + projectId + " does not exist.");
                     }
                 }
 
-                // Insert category if it doesn't exist
-                if (categoryId == null) {
-                    insCatStmt.setString(1, categoryName);
-                    insCatStmt.executeUpdate();
+                insertStepRows(conn, steps);
+                commitTransaction(conn); // Commit transaction
 
-                    try (ResultSet rs = insCatStmt.getGeneratedKeys()) {
-                        if (rs.next()) {
-                            categoryId = rs.getInt(1);
-                        } else {
-                            throw new SQLException("Failed to retrieve category_id for new category: " + categoryName);
-                        }
+                return steps;
+            } catch (Exception e) {
+                rollbackTransaction(conn); // Rollback in case of any exception
+                throw new DbException("Error appending steps: " + e.getMessage(), e);
+            }
+        } catch (SQLException e) {
+            throw new DbException("Error appending steps: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Insert the categories of one or more projects. Category names are resolved to IDs set-based
+     * (see {@link #resolveCategoryIds(Connection, Collection, Map)}), then every project is linked to its
+     * categories in one batch.
+     *
+     * @param conn     The database connection.
+     * @param projects The projects containing categories. Each must already have its ID.
+     * @return The IDs of categories created by this call, keyed by name. They must be passed to
+     *         {@link #cacheCategoryIds(Map)} once the transaction commits.
+     * @throws SQLException If a database access error occurs.
+     */
+    private Map<String, Integer> insertCategories(Connection conn, Collection<Project> projects) throws SQLException {
+        Set<String> names = new LinkedHashSet<>();
+        for (Project project : projects) {
+            for (Category category : project.getCategories()) {
+                names.add(category.getCategoryName());
+            }
+        }
+
+        if (names.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<String, Integer> createdIds = new HashMap<>();
+        Map<String, Integer> categoryIds = resolveCategoryIds(conn, names, createdIds);
+
+        try (PreparedStatement stmt = conn.prepareStatement(INSERT_PROJECT_CATEGORY_SQL)) {
+            for (Project project : projects) {
+                Set<Integer> linked = new HashSet<>();
+
+                for (Category category : project.getCategories()) {
+                    Integer categoryId = categoryIds.get(category.getCategoryName());
+                    category.setCategoryId(categoryId);
+
+                    // A name listed twice on a project is only linked once
+                    if (linked.add(categoryId)) {
+                        stmt.setInt(1, project.getProjectId());
+                        stmt.setInt(2, categoryId);
+                        stmt.addBatch();
                     }
                 }
+            }
+
+            stmt.executeBatch();
+        }
+
+        return createdIds;
+    }
+
+    /**
+     * Resolves category names to IDs, creating the categories that don't exist. Names are looked up
+     * in the in-memory cache first. The rest are read with one IN query; any still missing are
+     * inserted with one batched INSERT ... ON DUPLICATE KEY UPDATE against the unique index on
+     * category_name (so concurrent writers can't create duplicates) and then read back with one more
+     * IN query. The number of round trips does not depend on the number of names.
+     * <p>
+     * The read-back is a locking read. A plain read would use the transaction's snapshot, which
+     * can't see a category that another transaction committed after the first lookup, even though
+     * the upsert found it. The upsert already holds exclusive locks on every row the read-back
+     * returns, so the locking read waits for nothing.
+     *
+     * @param conn       The database connection.
+     * @param names      The category names to resolve.
+     * @param createdIds Receives the names and IDs resolved after the insert. They are not cached
+     *                   here because the insert may still be rolled back.
+     * @return The category IDs keyed by name.
+     * @throws SQLException If a database access error occurs.
+     */
+    private Map<String, Integer> resolveCategoryIds(Connection conn, Collection<String> names,
+            Map<String, Integer> createdIds) throws SQLException {
+        Map<String, Integer> categoryIds = new HashMap<>();
+        List<String> missing = new ArrayList<>();
+
+        for (String name : names) {
+            Integer categoryId = CATEGORY_ID_CACHE.get(name);
+
+            if (categoryId == null) {
+                missing.add(name);
+            } else {
+                categoryIds.put(name, categoryId);
+            }
+        }
+
+        if (missing.isEmpty()) {
+            return categoryIds;
+        }
+
+        Map<String, Integer> found = fetchCategoryIds(conn, missing, CATEGORY_IDS_BY_NAME_SQL);
+        List<String> toInsert = new ArrayList<>();
+
+        for (String name : missing) {
+            Integer categoryId = found.get(name);
+
+            if (categoryId == null) {
+                toInsert.add(name);
+            } else {
+                categoryIds.put(name, categoryId);
+                CATEGORY_ID_CACHE.put(name, categoryId);
+            }
+        }
+
+        if (toInsert.isEmpty()) {
+            return categoryIds;
+        }
 
-                // Insert into project_category
-                insProjCatStmt.setInt(1, project.getProjectId());
-                insProjCatStmt.setInt(2, categoryId);
-                insProjCatStmt.addBatch();
+        try (PreparedStatement stmt = conn.prepareStatement(UPSERT_CATEGORY_SQL)) {
+            for (String name : toInsert) {
+                stmt.setString(1, name);
+                stmt.addBatch();
             }
+            stmt.executeBatch();
+        }
 
-            insProjCatStmt.executeBatch();
+        Map<String, Integer> inserted = fetchCategoryIds(conn, toInsert, CATEGORY_IDS_BY_NAME_FOR_UPDATE_SQL);
+
+        for (String name : toInsert) {
+            Integer categoryId = inserted.get(name);
+
+            if (categoryId == null) {
+                throw new SQLException("Failed to retrieve category_id for new category: " + name);
+            }
+            categoryIds.put(name, categoryId);
+            createdIds.put(name, categoryId);
+        }
+
+        return categoryIds;
+    }
+
+    /**
+     * Looks up category IDs by name with bounded IN-list queries. Names are matched by the database,
+     * under the column's collation (so "cafe" finds "Café" under the default accent- and
+     * case-insensitive collation): each returned row carries one flag per requested name saying
+     * whether the name equals the row's, and every flagged name maps to the row's ID.
+     *
+     * @param conn      The database connection.
+     * @param names     The names to look up.
+     * @param sqlBySize The lookup statements from {@link #categoryIdStatements(String)}.
+     * @return The IDs of the categories found, keyed by the requested name.
+     * @throws SQLException If a database access error occurs.
+     */
+    private Map<String, Integer> fetchCategoryIds(Connection conn, List<String> names, String[] sqlBySize)
+            throws SQLException {
+        Map<String, Integer> categoryIds = new HashMap<>();
+
+        for (int from = 0; from < names.size(); from += CHILD_FETCH_CHUNK_SIZE) {
+            List<String> chunk = names.subList(from, Math.min(from + CHILD_FETCH_CHUNK_SIZE, names.size()));
+            int size = inListSizeIndex(chunk.size());
+
+            try (PreparedStatement stmt = conn.prepareStatement(sqlBySize[size])) {
+                // The flag parameters come first, then the IN list
+                for (int index = 0; index < IN_LIST_SIZES[size]; index++) {
+                    String name = chunk.get(Math.min(index, chunk.size() - 1));
+                    stmt.setString(index + 1, name);
+                    stmt.setString(IN_LIST_SIZES[size] + index + 1, name);
+                }
+
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        for (int index = 0; index < chunk.size(); index++) {
+                            if (rs.getBoolean(index + 2)) {
+                                categoryIds.put(chunk.get(index), rs.getInt(1));
+                            }
+                        }
+                    }
+                }
+            }
         }
+        return categoryIds;
+    }
+
+    /**
+     * Adds newly created categories to the in-memory cache. This is called after the transaction
+     * that created them commits, so the cache never holds IDs that were rolled back.
+     *
+     * @param categoryIds The category IDs keyed by name.
+     */
+    private void cacheCategoryIds(Map<String, Integer> categoryIds) {
+        CATEGORY_ID_CACHE.putAll(categoryIds);
     }
 
     /**
      * Fetch all projects from the project table along with their materials, steps, and categories.
+     * The children are loaded set-based: one query per child table for all projects, stitched
+     * onto the projects by ID, so the number of round trips does not grow with the project count.
      *
      * @return A list of all Project objects.
      */
     public List<Project> fetchAllProjects() {
-        String sql = "SELECT project_id, project_name, estimated_hours, actual_hours, difficulty, notes "
-                   + "FROM " + PROJECT_TABLE + " "
-                   + "ORDER BY project_id";
+        Map<Integer, Project> projectsById = new LinkedHashMap<>();
 
-        List<Project> projects = new ArrayList<>();
+        try (Connection conn = DbConnection.getConnection()) {
+            try (PreparedStatement stmt = conn.prepareStatement(ALL_PROJECTS_SQL);
+                 ResultSet rs = stmt.executeQuery()) {
 
-        try (Connection conn = DbConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql);
+                while (rs.next()) {
+                    Project project = RowMappers.PROJECT.map(rs);
+                    projectsById.put(project.getProjectId(), project);
+                }
+            }
+
+            if (!projectsById.isEmpty()) {
+                fetchChildrenForProjects(conn, projectsById, null);
+            }
+
+            return new ArrayList<>(projectsById.values());
+        } catch (SQLException e) {
+            throw new DbException("Error fetching all projects: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Fetch one page of projects, with their materials, steps, and categories, using keyset
+     * pagination on project_id. Each page seeks directly to the first ID after the previous page
+     * through the primary key, so the cost of a page does not depend on how deep into the table it
+     * is.
+     *
+     * @param afterProjectId The ID of the last project on the previous page, or null for the first
+     *                       page.
+     * @param pageSize       The maximum number of projects to return, at least 1.
+     * @return The page of projects and the token for the next page.
+     * @throws IllegalArgumentException If the page size is less than 1.
+     */
+    public ProjectPage fetchProjectPage(Integer afterProjectId, int pageSize) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("Page size must be at least 1");
+        }
+
+        Map<Integer, Project> projectsById = new LinkedHashMap<>();
+        boolean hasMore = false;
+
+        try (Connection conn = DbConnection.getConnection()) {
+            try (PreparedStatement stmt = conn.prepareStatement(PROJECT_PAGE_SQL)) {
+                setParameter(stmt, 1, afterProjectId == null ? 0 : afterProjectId, Integer.class);
+                // Read one extra row to find out whether another page exists. project_id is an INT,
+                // so a page of Integer.MAX_VALUE already holds every remaining project.
+                int limit = pageSize == Integer.MAX_VALUE ? pageSize : pageSize + 1;
+                setParameter(stmt, 2, limit, Integer.class);
+
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        if (projectsById.size() == pageSize) {
+                            hasMore = true;
+                            break;
+                        }
+
+                        Project project = RowMappers.PROJECT.map(rs);
+                        projectsById.put(project.getProjectId(), project);
+                    }
+                }
+            }
+
+            List<Integer> projectIds = new ArrayList<>(projectsById.keySet());
+
+            if (!projectIds.isEmpty()) {
+                fetchChildrenForProjects(conn, projectsById, projectIds);
+            }
+
+            Integer nextPageToken = hasMore ? projectIds.get(projectIds.size() - 1) : null;
+            return new ProjectPage(new ArrayList<>(projectsById.values()), nextPageToken);
+        } catch (SQLException e) {
+            throw new DbException("Error fetching project page: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Streams all projects, with their materials, steps, and categories, to a callback in project
+     * ID order. Project rows are read with a MySQL streaming result set so they are not buffered by
+     * the driver; children are loaded set-based on a second connection for each group of
+     * {@link #STREAM_BATCH_SIZE} projects. Memory use is bounded by the group size rather than the
+     * table size, and the first projects are delivered as soon as their group is complete.
+     *
+     * @param action The callback to receive each project.
+     */
+    public void streamAllProjects(Consumer<? super Project> action) {
+        Map<Integer, Project> batch = new LinkedHashMap<>();
+
+        // Both connections are borrowed together, so concurrent streams can't each hold one and wait
+        List<Connection> connections = DbConnection.getConnections(2);
+
+        try (Connection conn = connections.get(0);
+             Connection childConn = connections.get(1);
+             PreparedStatement stmt = conn.prepareStatement(ALL_PROJECTS_SQL, ResultSet.TYPE_FORWARD_ONLY,
+                     ResultSet.CONCUR_READ_ONLY)) {
+
+            // Connector/J streams rows one at a time instead of reading the whole result set
+            stmt.setFetchSize(Integer.MIN_VALUE);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    Project project = RowMappers.PROJECT.map(rs);
+                    batch.put(project.getProjectId(), project);
+
+                    if (batch.size() == STREAM_BATCH_SIZE) {
+                        emitBatch(childConn, batch, action);
+                    }
+                }
+            }
+
+            emitBatch(childConn, batch, action);
+        } catch (SQLException e) {
+            throw new DbException("Error streaming projects: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Loads the children for a batch of streamed projects, passes each project to the callback, and
+     * clears the batch.
+     */
+    private void emitBatch(Connection conn, Map<Integer, Project> batch, Consumer<? super Project> action)
+            throws SQLException {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        fetchChildrenForProjects(conn, batch, new ArrayList<>(batch.keySet()));
+        batch.values().forEach(action);
+        batch.clear();
+    }
+
+    /**
+     * Loads the materials, steps, and categories for a set of projects and adds them to the
+     * matching Project objects.
+     *
+     * @param conn         The database connection.
+     * @param projectsById The projects to populate, keyed by project ID.
+     * @param projectIds   The IDs to restrict the child queries to. If null, the child tables are
+     *                     read without a filter, which is used when every project is loaded. Otherwise
+     *                     the IDs are sent in bounded IN-list chunks.
+     * @throws SQLException If a database access error occurs.
+     */
+    private void fetchChildrenForProjects(Connection conn, Map<Integer, Project> projectsById,
+            List<Integer> projectIds) throws SQLException {
+        if (projectIds == null) {
+            fetchMaterialsForProjects(conn, projectsById, List.of());
+            fetchStepsForProjects(conn, projectsById, List.of());
+            fetchCategoriesForProjects(conn, projectsById, List.of());
+            return;
+        }
+
+        for (int from = 0; from < projectIds.size(); from += CHILD_FETCH_CHUNK_SIZE) {
+            List<Integer> chunk = projectIds.subList(from,
+                    Math.min(from + CHILD_FETCH_CHUNK_SIZE, projectIds.size()));
+
+            fetchMaterialsForProjects(conn, projectsById, chunk);
+            fetchStepsForProjects(conn, projectsById, chunk);
+            fetchCategoriesForProjects(conn, projectsById, chunk);
+        }
+    }
+
+    /**
+     * Fetch the materials for many projects in one query.
+     *
+     * @param conn         The database connection.
+     * @param projectsById The projects to add the materials to, keyed by project ID.
+     * @param projectIds   The project IDs to filter on, or an empty list for all projects.
+     * @throws SQLException If a database access error occurs.
+     */
+    private void fetchMaterialsForProjects(Connection conn, Map<Integer, Project> projectsById,
+            List<Integer> projectIds) throws SQLException {
+        try (PreparedStatement stmt = prepareChildQuery(conn, ALL_MATERIALS_SQL, MATERIALS_BY_PROJECT_IDS_SQL, projectIds);
              ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                Material material = RowMappers.MATERIAL.map(rs);
+                Project project = projectsById.get(material.getProjectId());
 
+                if (project != null) {
+                    project.addMaterial(material);
+                }
+            }
+        }
+    }
+
+    /**
+     * Fetch the steps for many projects in one query.
+     *
+     * @param conn         The database connection.
+     * @param projectsById The projects to add the steps to, keyed by project ID.
+     * @param projectIds   The project IDs to filter on, or an empty list for all projects.
+     * @throws SQLException If a database access error occurs.
+     */
+    private void fetchStepsForProjects(Connection conn, Map<Integer, Project> projectsById,
+            List<Integer> projectIds) throws SQLException {
+        try (PreparedStatement stmt = prepareChildQuery(conn, ALL_STEPS_SQL, STEPS_BY_PROJECT_IDS_SQL, projectIds);
+             ResultSet rs = stmt.executeQuery()) {
             while (rs.next()) {
-                Project project = new Project();
-                project.setProjectId(getInt(rs, "project_id"));
-                project.setProjectName(getString(rs, "project_name"));
-                project.setEstimatedHours(getBigDecimal(rs, "estimated_hours"));
-                project.setActualHours(getBigDecimal(rs, "actual_hours"));
-                project.setDifficulty(getInt(rs, "difficulty"));
-                project.setNotes(getString(rs, "notes"));
+                Step step = RowMappers.STEP.map(rs);
+                Project project = projectsById.get(step.getProjectId());
 
-                // Fetch and set materials, steps, and categories
-                project.setMaterials(fetchMaterialsForProject(conn, project.getProjectId()));
-                project.setSteps(fetchStepsForProject(conn, project.getProjectId()));
-                project.setCategories(fetchCategoriesForProject(conn, project.getProjectId()));
+                if (project != null) {
+                    project.addStep(step);
+                }
+            }
+        }
+    }
+
+    /**
+     * Fetch the categories for many projects in one query.
+     *
+     * @param conn         The database connection.
+     * @param projectsById The projects to add the categories to, keyed by project ID.
+     * @param projectIds   The project IDs to filter on, or an empty list for all projects.
+     * @throws SQLException If a database access error occurs.
+     */
+    private void fetchCategoriesForProjects(Connection conn, Map<Integer, Project> projectsById,
+            List<Integer> projectIds) throws SQLException {
+        try (PreparedStatement stmt = prepareChildQuery(conn, ALL_CATEGORIES_SQL, CATEGORIES_BY_PROJECT_IDS_SQL, projectIds);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                // project_id follows the category columns
+                Project project = projectsById.get(rs.getInt(3));
 
-                projects.add(project);
+                if (project != null) {
+                    project.addCategory(RowMappers.CATEGORY.map(rs));
+                }
             }
+        }
+    }
 
-            return projects;
+    /**
+     * Prepares a child query for a list of project IDs, with the IDs bound.
+     *
+     * @param conn       The database connection.
+     * @param allSql     The query used when the list is empty, which reads the whole child table.
+     * @param byIdsSql   The IN-list variants of the query, one per entry in {@link #IN_LIST_SIZES}.
+     * @param projectIds The project IDs to filter on, or an empty list for all projects.
+     * @return The prepared statement, ready to execute.
+     * @throws SQLException If a database access error occurs.
+     */
+    private PreparedStatement prepareChildQuery(Connection conn, String allSql, String[] byIdsSql,
+            List<Integer> projectIds) throws SQLException {
+        if (projectIds.isEmpty()) {
+            return conn.prepareStatement(allSql);
+        }
+
+        int size = inListSizeIndex(projectIds.size());
+        PreparedStatement stmt = conn.prepareStatement(byIdsSql[size]);
+
+        try {
+            for (int index = 0; index < IN_LIST_SIZES[size]; index++) {
+                stmt.setInt(index + 1, projectIds.get(Math.min(index, projectIds.size() - 1)));
+            }
+            return stmt;
         } catch (SQLException e) {
-            throw new DbException("Error fetching all projects: " + e.getMessage(), e);
+            stmt.close();
+            throw e;
         }
     }
 
+    /**
+     * Builds the variants of an IN-list statement, one for each size in {@link #IN_LIST_SIZES}.
+     *
+     * @param prefix The statement text up to and including the opening parenthesis.
+     * @param suffix The statement text from the closing parenthesis on.
+     * @return The statements, indexed like {@link #IN_LIST_SIZES}.
+     */
+    private static String[] inListStatements(String prefix, String suffix) {
+        String[] statements = new String[IN_LIST_SIZES.length];
+
+        for (int index = 0; index < IN_LIST_SIZES.length; index++) {
+            statements[index] = prefix + String.join(", ", Collections.nCopies(IN_LIST_SIZES[index], "?")) + suffix;
+        }
+        return statements;
+    }
+
+    /**
+     * Builds the variants of the category ID lookup, one for each size in {@link #IN_LIST_SIZES}.
+     * Each selects category_id followed by one {@code category_name = ?} flag per requested name,
+     * for the rows whose name is in the IN list.
+     *
+     * @param suffix The statement text after the IN list.
+     * @return The statements, indexed like {@link #IN_LIST_SIZES}.
+     */
+    private static String[] categoryIdStatements(String suffix) {
+        String[] statements = new String[IN_LIST_SIZES.length];
+
+        for (int index = 0; index < IN_LIST_SIZES.length; index++) {
+            List<String> params = Collections.nCopies(IN_LIST_SIZES[index], "?");
+            statements[index] = "SELECT category_id"
+                    + String.join("", Collections.nCopies(IN_LIST_SIZES[index], ", category_name = ?"))
+                    + " FROM " + CATEGORY_TABLE + " WHERE category_name IN (" + String.join(", ", params) + ")"
+                    + suffix;
+        }
+        return statements;
+    }
+
+    /**
+     * Picks the smallest IN-list size that holds a number of values.
+     *
+     * @param count The number of values, from 1 to {@link #CHILD_FETCH_CHUNK_SIZE}.
+     * @return The index of the size in {@link #IN_LIST_SIZES}.
+     */
+    private static int inListSizeIndex(int count) {
+        for (int index = 0; index < IN_LIST_SIZES.length; index++) {
+            if (IN_LIST_SIZES[index] >= count) {
+                return index;
+            }
+        }
+        throw new IllegalArgumentException("IN list of " + count + " values exceeds " + CHILD_FETCH_CHUNK_SIZE);
+    }
+
     /**
      * Fetch materials associated with a project.
      *
@@ -256,18 +1018,12 @@ public class ProjectDao extends DaoBase {
     private List<Material> fetchMaterialsForProject(Connection conn, int projectId) throws SQLException {
         List<Material> materials = new ArrayList<>();
 
-        String sql = "SELECT material_id, material_name, num_required, cost FROM " + MATERIAL_TABLE + " WHERE project_id = ? ORDER BY material_id";
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (PreparedStatement stmt = conn.prepareStatement(MATERIALS_BY_PROJECT_SQL)) {
             stmt.setInt(1, projectId);
 
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
-                    Material material = new Material();
-                    material.setMaterialId(getInt(rs, "material_id"));
-                    material.setMaterialName(getString(rs, "material_name"));
-                    material.setNumRequired(getInt(rs, "num_required"));
-                    material.setCost(getBigDecimal(rs, "cost"));
-                    materials.add(material);
+                    materials.add(RowMappers.MATERIAL.map(rs));
                 }
             }
         }
@@ -285,17 +1041,12 @@ public class ProjectDao extends DaoBase {
     private List<Step> fetchStepsForProject(Connection conn, int projectId) throws SQLException {
         List<Step> steps = new ArrayList<>();
 
-        String sql = "SELECT step_id, step_text, step_order FROM " + STEP_TABLE + " WHERE project_id = ? ORDER BY step_order";
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (PreparedStatement stmt = conn.prepareStatement(STEPS_BY_PROJECT_SQL)) {
             stmt.setInt(1, projectId);
 
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
-                    Step step = new Step();
-                    step.setStepId(getInt(rs, "step_id"));
-                    step.setStepText(getString(rs, "step_text"));
-                    step.setStepOrder(getInt(rs, "step_order"));
-                    steps.add(step);
+                    steps.add(RowMappers.STEP.map(rs));
                 }
             }
         }
@@ -313,21 +1064,12 @@ public class ProjectDao extends DaoBase {
     private List<Category> fetchCategoriesForProject(Connection conn, int projectId) throws SQLException {
         List<Category> categories = new ArrayList<>();
 
-        String sql = "SELECT c.category_id, c.category_name "
-                   + "FROM " + CATEGORY_TABLE + " c "
-                   + "JOIN " + PROJECT_CATEGORY_TABLE + " pc USING (category_id) "
-                   + "WHERE pc.project_id = ? "
-                   + "ORDER BY c.category_id";
-
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (PreparedStatement stmt = conn.prepareStatement(CATEGORIES_BY_PROJECT_SQL)) {
             stmt.setInt(1, projectId);
 
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
-                    Category category = new Category();
-                    category.setCategoryId(getInt(rs, "category_id"));
-                    category.setCategoryName(getString(rs, "category_name"));
-                    categories.add(category);
+                    categories.add(RowMappers.CATEGORY.map(rs));
                 }
             }
         }
@@ -335,49 +1077,322 @@ public class ProjectDao extends DaoBase {
     }
 
     /**
-     * Update an existing project in the project table.
-     * Note: This method currently only updates the project details.
-     * To update materials, steps, and categories, additional logic is required.
+     * Update an existing project along with its materials, steps, and categories. The children are
+     * compared with what is stored and only the differences are written, in one transaction:
+     * <ul>
+     * <li>Materials and steps without an ID (or with an ID that isn't stored for this project) are
+     * inserted, stored rows whose values changed are updated, and stored rows no longer on the
+     * project are deleted. Step orders follow list order and come from the project's step order
+     * counter, like {@link #appendSteps(Integer, List)}.</li>
+     * <li>Category links are added and removed to match the project's category names. Categories
+     * themselves are never deleted because other projects may use them.</li>
+     * </ul>
+     * Each kind of change is sent as one JDBC batch, so unchanged children cost nothing beyond the
+     * reads of the stored state, and existing rows keep their IDs.
+     * <p>
+     * The update is optimistic: it only applies if the stored version still matches the project's
+     * version, and it increments the version. On success the project is given its new version.
      *
      * @param project The project with updated information.
-     * @return The number of rows affected.
+     * @return The number of project rows affected: 1 if the project was updated, 0 if it doesn't exist.
+     * @throws ProjectConflictException If the project was changed since it was read.
      */
     public int updateProject(Project project) {
-        String sql = "UPDATE " + PROJECT_TABLE + " SET project_name = ?, estimated_hours = ?, actual_hours = ?, difficulty = ?, notes = ? WHERE project_id = ?";
+        requireVersion(project);
 
         try (Connection conn = DbConnection.getConnection()) {
             try {
                 startTransaction(conn); // Start transaction
 
-                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-                    setParameter(stmt, 1, project.getProjectName(), String.class);
-                    setParameter(stmt, 2, project.getEstimatedHours(), BigDecimal.class);
-                    setParameter(stmt, 3, project.getActualHours(), BigDecimal.class);
-                    setParameter(stmt, 4, project.getDifficulty(), Integer.class);
-                    setParameter(stmt, 5, project.getNotes(), String.class);
-                    setParameter(stmt, 6, project.getProjectId(), Integer.class);
+                int rowsAffected;
+                try (PreparedStatement stmt = conn.prepareStatement(UPDATE_PROJECT_SQL)) {
+                    UPDATE_PROJECT_BINDER.bind(stmt, project);
 
-                    int rowsAffected = stmt.executeUpdate(); // Execute the UPDATE statement
+                    rowsAffected = stmt.executeUpdate(); // Execute the UPDATE statement
+                }
 
-                    // Optionally, update materials, steps, and categories here
-                    // For example:
-                    // deleteExistingMaterials(conn, project.getProjectId());
-                    // insertMaterials(conn, project);
-                    // Similarly for steps and categories
+                if (rowsAffected == 0) {
+                    checkVersionConflict(conn, project);
+                }
 
-                    commitTransaction(conn); // Commit transaction
+                Map<String, Integer> createdCategoryIds = Map.of();
 
-                    return rowsAffected; // Return the number of rows affected
+                // Don't create children for a project that doesn't exist
+                if (rowsAffected > 0) {
+                    syncMaterials(conn, project);
+                    syncSteps(conn, project);
+                    createdCategoryIds = syncCategories(conn, project);
                 }
+
+                commitTransaction(conn); // Commit transaction
+                cacheCategoryIds(createdCategoryIds);
+
+                if (rowsAffected > 0) {
+                    project.setVersion(project.getVersion() + 1);
+                }
+
+                return rowsAffected; // Return the number of rows affected
+            } catch (ProjectConflictException e) {
+                rollbackTransaction(conn);
+                throw e;
             } catch (Exception e) {
                 rollbackTransaction(conn); // Rollback in case of any exception
                 throw new DbException("Error updating project: " + e.getMessage(), e);
             }
+        } catch (ProjectConflictException e) {
+            throw e;
         } catch (Exception e) {
             throw new DbException("Error updating project: " + e.getMessage(), e);
         }
     }
 
+    /**
+     * Make sure a project carries the version it was read at. Without it the update could not tell
+     * whether it is about to overwrite someone else's changes.
+     *
+     * @param project The project to be updated.
+     * @throws DbException If the project has no version.
+     */
+    private void requireVersion(Project project) {
+        if (project.getVersion() == null) {
+            throw new DbException("Project with ID=" + project.getProjectId()
+                    + " has no version. Read the project before updating it.");
+        }
+    }
+
+    /**
+     * Called when a versioned UPDATE matched no rows. If the project still exists, its version has
+     * moved on, so the update is reported as a conflict. Otherwise the project doesn't exist and the
+     * caller reports that as zero rows affected.
+     *
+     * @param conn    The database connection.
+     * @param project The project that was being updated.
+     * @throws SQLException If a database access error occurs.
+     * @throws ProjectConflictException If the project exists with a different version.
+     */
+    private void checkVersionConflict(Connection conn, Project project) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(PROJECT_VERSION_SQL)) {
+            setParameter(stmt, 1, project.getProjectId(), Integer.class);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    throw new ProjectConflictException(project.getProjectId(), project.getVersion(), rs.getInt(1));
+                }
+            }
+        }
+    }
+
+    /**
+     * Bring the stored materials of a project in line with the project's material list.
+     *
+     * @param conn    The database connection.
+     * @param project The project whose materials are written.
+     * @throws SQLException If a database access error occurs.
+     */
+    private void syncMaterials(Connection conn, Project project) throws SQLException {
+        Map<Integer, Material> stored = new HashMap<>();
+        for (Material material : fetchMaterialsForProject(conn, project.getProjectId())) {
+            stored.put(material.getMaterialId(), material);
+        }
+
+        List<Material> toInsert = new ArrayList<>();
+        List<Material> toUpdate = new ArrayList<>();
+
+        for (Material material : project.getMaterials()) {
+            material.setProjectId(project.getProjectId());
+            Material current = material.getMaterialId() == null ? null : stored.remove(material.getMaterialId());
+
+            if (current == null) {
+                toInsert.add(material);
+            } else if (isMaterialChanged(current, material)) {
+                toUpdate.add(material);
+            }
+        }
+
+        if (!stored.isEmpty()) {
+            deleteRowsById(conn, DELETE_MATERIAL_SQL, stored.keySet());
+        }
+
+        if (!toUpdate.isEmpty()) {
+            try (PreparedStatement stmt = conn.prepareStatement(UPDATE_MATERIAL_SQL)) {
+                for (Material material : toUpdate) {
+                    UPDATE_MATERIAL_BINDER.bind(stmt, material);
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+            }
+        }
+
+        insertMaterialRows(conn, toInsert);
+    }
+
+    /**
+     * Compare a stored material with its new values. Nulls compare the way they are written
+     * (0 and 0.00), and costs are compared by value so 5.0 and 5.00 are equal.
+     */
+    private boolean isMaterialChanged(Material stored, Material material) {
+        int numRequired = material.getNumRequired() != null ? material.getNumRequired() : 0;
+        BigDecimal cost = material.getCost() != null ? material.getCost() : BigDecimal.ZERO;
+
+        return !Objects.equals(stored.getMaterialName(), material.getMaterialName())
+                || !Objects.equals(stored.getNumRequired(), numRequired)
+                || stored.getCost() == null
+                || stored.getCost().compareTo(cost) != 0;
+    }
+
+    /**
+     * Bring the stored steps of a project in line with the project's step list. If the stored steps
+     * that remain are still in list order and any new steps come after them, the stored steps keep
+     * their step orders and only the new steps are given orders. Otherwise every step is given a new
+     * order, in list order. Either way the orders are reserved from the project's step order counter
+     * inside this transaction, so they can't collide with orders handed out by
+     * {@link #appendSteps(Integer, List)}.
+     *
+     * @param conn    The database connection.
+     * @param project The project whose steps are written.
+     * @throws SQLException If a database access error occurs.
+     */
+    private void syncSteps(Connection conn, Project project) throws SQLException {
+        Map<Integer, Step> stored = new HashMap<>();
+        for (Step step : fetchStepsForProject(conn, project.getProjectId())) {
+            stored.put(step.getStepId(), step);
+        }
+
+        List<Step> toInsert = new ArrayList<>();
+        List<Step> toUpdate = new ArrayList<>();
+        List<Step> toNumber = new ArrayList<>();
+        boolean inOrder = true;
+        int lastOrder = 0;
+
+        for (Step step : project.getSteps()) {
+            step.setProjectId(project.getProjectId());
+            Step current = step.getStepId() == null ? null : stored.remove(step.getStepId());
+
+            if (current == null) {
+                toInsert.add(step);
+            } else {
+                step.setStepOrder(current.getStepOrder());
+                inOrder = inOrder && toInsert.isEmpty() && current.getStepOrder() > lastOrder;
+                lastOrder = current.getStepOrder();
+
+                if (!Objects.equals(current.getStepText(), step.getStepText())) {
+                    toUpdate.add(step);
+                }
+            }
+        }
+
+        if (inOrder) {
+            toNumber.addAll(toInsert);
+        } else {
+            toNumber.addAll(project.getSteps());
+            toUpdate = new ArrayList<>(project.getSteps());
+            toUpdate.removeAll(toInsert);
+        }
+
+        if (!toNumber.isEmpty()) {
+            int order = STEP_ORDER_ALLOCATOR.allocate(conn, project.getProjectId(), toNumber.size());
+
+            for (Step step : toNumber) {
+                step.setStepOrder(order++);
+            }
+        }
+
+        if (!stored.isEmpty()) {
+            deleteRowsById(conn, DELETE_STEP_SQL, stored.keySet());
+        }
+
+        if (!toUpdate.isEmpty()) {
+            try (PreparedStatement stmt = conn.prepareStatement(UPDATE_STEP_SQL)) {
+                for (Step step : toUpdate) {
+                    UPDATE_STEP_BINDER.bind(stmt, step);
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+            }
+        }
+
+        insertStepRows(conn, toInsert);
+    }
+
+    /**
+     * Bring the stored category links of a project in line with the project's category names.
+     * Category names are resolved the same way as on insert, creating categories that don't exist.
+     *
+     * @param conn    The database connection.
+     * @param project The project whose categories are written.
+     * @return The IDs of categories created by this call, keyed by name. They must be passed to
+     *         {@link #cacheCategoryIds(Map)} once the transaction commits.
+     * @throws SQLException If a database access error occurs.
+     */
+    private Map<String, Integer> syncCategories(Connection conn, Project project) throws SQLException {
+        Set<Integer> stored = new HashSet<>();
+        for (Category category : fetchCategoriesForProject(conn, project.getProjectId())) {
+            stored.add(category.getCategoryId());
+        }
+
+        Set<String> names = new LinkedHashSet<>();
+        for (Category category : project.getCategories()) {
+            names.add(category.getCategoryName());
+        }
+
+        Map<String, Integer> createdIds = new HashMap<>();
+        Map<String, Integer> categoryIds = names.isEmpty() ? Map.of() : resolveCategoryIds(conn, names, createdIds);
+        Set<Integer> toLink = new LinkedHashSet<>();
+        Set<Integer> handled = new HashSet<>();
+
+        for (Category category : project.getCategories()) {
+            Integer categoryId = categoryIds.get(category.getCategoryName());
+            category.setCategoryId(categoryId);
+
+            // Names listed twice, or that the collation treats as equal, share one link
+            if (handled.add(categoryId) && !stored.remove(categoryId)) {
+                toLink.add(categoryId);
+            }
+        }
+
+        if (!stored.isEmpty()) {
+            try (PreparedStatement stmt = conn.prepareStatement(DELETE_PROJECT_CATEGORY_SQL)) {
+                for (Integer categoryId : stored) {
+                    stmt.setInt(1, project.getProjectId());
+                    stmt.setInt(2, categoryId);
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+            }
+        }
+
+        if (!toLink.isEmpty()) {
+            try (PreparedStatement stmt = conn.prepareStatement(INSERT_PROJECT_CATEGORY_SQL)) {
+                for (Integer categoryId : toLink) {
+                    stmt.setInt(1, project.getProjectId());
+                    stmt.setInt(2, categoryId);
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+            }
+        }
+
+        return createdIds;
+    }
+
+    /**
+     * Delete child rows by primary key in one JDBC batch.
+     *
+     * @param conn The database connection.
+     * @param sql  The DELETE statement, with the primary key as its only parameter.
+     * @param ids  The IDs of the rows to delete.
+     * @throws SQLException If a database access error occurs.
+     */
+    private void deleteRowsById(Connection conn, String sql, Collection<Integer> ids) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (Integer id : ids) {
+                stmt.setInt(1, id);
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+    }
+
     /**
      * Delete a project from the project table.
      *
@@ -385,18 +1400,17 @@ public class ProjectDao extends DaoBase {
      * @return The number of rows affected.
      */
     public int deleteProject(Integer projectId) {
-        String sql = "DELETE FROM " + PROJECT_TABLE + " WHERE project_id = ?";
-
         try (Connection conn = DbConnection.getConnection()) {
             try {
                 startTransaction(conn); // Start transaction
 
-                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                try (PreparedStatement stmt = conn.prepareStatement(DELETE_PROJECT_SQL)) {
                     setParameter(stmt, 1, projectId, Integer.class);
 
                     int rowsAffected = stmt.executeUpdate(); // Execute the DELETE statement
 
                     commitTransaction(conn); // Commit transaction
+                    STEP_ORDER_ALLOCATOR.forget(projectId); // The counter row was deleted with the project
 
                     return rowsAffected; // Return the number of rows affected
                 }
@@ -413,25 +1427,17 @@ public class ProjectDao extends DaoBase {
      * Fetch a single project by its ID along with its materials, steps, and categories.
      *
      * @param projectId The ID of the project to fetch.
-     * @return The Project object if found; otherwise, null.
+     * @return The Project object if found; otherwise, an empty Optional.
      */
     public Optional<Project> fetchProjectById(Integer projectId) {
-        String sql = "SELECT project_id, project_name, estimated_hours, actual_hours, difficulty, notes FROM " + PROJECT_TABLE + " WHERE project_id = ?";
-
         try (Connection conn = DbConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+             PreparedStatement stmt = conn.prepareStatement(PROJECT_BY_ID_SQL)) {
 
             setParameter(stmt, 1, projectId, Integer.class);
 
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
-                    Project project = new Project();
-                    project.setProjectId(getInt(rs, "project_id"));
-                    project.setProjectName(getString(rs, "project_name"));
-                    project.setEstimatedHours(getBigDecimal(rs, "estimated_hours"));
-                    project.setActualHours(getBigDecimal(rs, "actual_hours"));
-                    project.setDifficulty(getInt(rs, "difficulty"));
-                    project.setNotes(getString(rs, "notes"));
+                    Project project = RowMappers.PROJECT.map(rs);
 
                     // Fetch and set materials, steps, and categories
                     project.setMaterials(fetchMaterialsForProject(conn, project.getProjectId()));
@@ -440,7 +1446,7 @@ public class ProjectDao extends DaoBase {
 
                     return Optional.ofNullable(project);
                 } else {
-                    return null; // Project not found
+                    return Optional.empty(); // Project not found
                 }
             }
 
@@ -449,18 +1455,159 @@ public class ProjectDao extends DaoBase {
         }
     }
 
-    // Helper methods to extract data from ResultSet
-    protected String getString(ResultSet rs, String columnName) throws SQLException {
-        return rs.getString(columnName);
+    /**
+     * Fetch a single project by its ID along with its materials, steps, and categories, running the
+     * four queries at the same time. Each query runs on its own virtual thread with its own pooled
+     * connection, so the latency is close to that of the slowest query rather than the sum of all
+     * four. The calling thread holds no connection while it waits, so a busy pool delays the call but
+     * cannot deadlock it. Because the queries don't share a transaction, a project changed while it
+     * is being read may come back with a mix of old and new children.
+     *
+     * @param projectId The ID of the project to fetch.
+     * @return The Project object if found; otherwise, an empty Optional.
+     */
+    public Optional<Project> fetchProjectByIdParallel(Integer projectId) {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<Project> projectRow = executor.submit(onOwnConnection(conn -> {
+                try (PreparedStatement stmt = conn.prepareStatement(PROJECT_BY_ID_SQL)) {
+                    setParameter(stmt, 1, projectId, Integer.class);
+
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        return rs.next() ? RowMappers.PROJECT.map(rs) : null;
+                    }
+                }
+            }));
+            Future<List<Material>> materials = executor.submit(onOwnConnection(conn -> fetchMaterialsForProject(conn, projectId)));
+            Future<List<Step>> steps = executor.submit(onOwnConnection(conn -> fetchStepsForProject(conn, projectId)));
+            Future<List<Category>> categories = executor.submit(onOwnConnection(conn -> fetchCategoriesForProject(conn, projectId)));
+
+            try {
+                Project project = awaitResult(projectRow);
+
+                if (project == null) {
+                    return Optional.empty(); // Project not found
+                }
+
+                project.setMaterials(awaitResult(materials));
+                project.setSteps(awaitResult(steps));
+                project.setCategories(awaitResult(categories));
+
+                return Optional.of(project);
+            } catch (RuntimeException e) {
+                executor.shutdownNow(); // Don't wait for the other queries to finish
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Work that runs against a database connection.
+     *
+     * @param <T> The result type.
+     */
+    private interface ConnectionWork<T> {
+        T apply(Connection conn) throws SQLException;
     }
 
-    protected Integer getInt(ResultSet rs, String columnName) throws SQLException {
-        int value = rs.getInt(columnName);
-        return rs.wasNull() ? null : value;
+    /**
+     * Turn connection work into a task that borrows its own pooled connection. Statements run by the
+     * task are counted against the caller's {@link QueryTracker} scope.
+     *
+     * @param work The work to run.
+     * @return The task.
+     */
+    private <T> Callable<T> onOwnConnection(ConnectionWork<T> work) {
+        return QueryTracker.propagate(() -> {
+            try (Connection conn = DbConnection.getConnection()) {
+                return work.apply(conn);
+            }
+        });
+    }
+
+    /**
+     * Wait for a parallel query and return its result.
+     *
+     * @param future The running query.
+     * @return The result of the query.
+     * @throws DbException If the query failed or the wait was interrupted.
+     */
+    private <T> T awaitResult(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DbException("Interrupted while fetching project.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof DbException dbException) {
+                throw dbException;
+            }
+            throw new DbException("Error fetching project by ID: " + e.getCause().getMessage(), e.getCause());
+        }
     }
 
-    protected BigDecimal getBigDecimal(ResultSet rs, String columnName) throws SQLException {
-        return rs.getBigDecimal(columnName);
+    /**
+     * Fetch a single project by its ID along with its materials, steps, and categories in one round
+     * trip. The project and its children are read with a single UNION ALL query whose rows share a
+     * common shape; the row_type column says which table each row came from and the rows are folded
+     * into one Project.
+     *
+     * @param projectId The ID of the project to fetch.
+     * @return The Project object if found; otherwise, an empty Optional.
+     */
+    public Optional<Project> fetchProjectGraphById(Integer projectId) {
+        try (Connection conn = DbConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(PROJECT_GRAPH_SQL)) {
+
+            for (int index = 1; index <= 4; index++) {
+                setParameter(stmt, index, projectId, Integer.class);
+            }
+
+            Project project = null;
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    int rowType = rs.getInt(1);
+
+                    if (rowType == GRAPH_PROJECT_ROW) {
+                        project = new Project();
+                        project.setProjectId(RowMappers.getInteger(rs, 2));
+                        project.setProjectName(rs.getString(3));
+                        project.setNotes(rs.getString(4));
+                        project.setDifficulty(RowMappers.getInteger(rs, 5));
+                        project.setEstimatedHours(rs.getBigDecimal(6));
+                        project.setActualHours(rs.getBigDecimal(7));
+                        project.setVersion(RowMappers.getInteger(rs, 9));
+                    } else if (project == null) {
+                        // Children sort after the project row, so no project row means no project
+                        break;
+                    } else if (rowType == GRAPH_MATERIAL_ROW) {
+                        Material material = new Material();
+                        material.setMaterialId(RowMappers.getInteger(rs, 2));
+                        material.setProjectId(project.getProjectId());
+                        material.setMaterialName(rs.getString(3));
+                        material.setNumRequired(RowMappers.getInteger(rs, 5));
+                        material.setCost(rs.getBigDecimal(6));
+                        project.addMaterial(material);
+                    } else if (rowType == GRAPH_STEP_ROW) {
+                        Step step = new Step();
+                        step.setStepId(RowMappers.getInteger(rs, 2));
+                        step.setProjectId(project.getProjectId());
+                        step.setStepText(rs.getString(4));
+                        step.setStepOrder(RowMappers.getInteger(rs, 5));
+                        project.addStep(step);
+                    } else if (rowType == GRAPH_CATEGORY_ROW) {
+                        Category category = new Category();
+                        category.setCategoryId(RowMappers.getInteger(rs, 2));
+                        category.setCategoryName(rs.getString(3));
+                        project.addCategory(category);
+                    }
+                }
+            }
+
+            return Optional.ofNullable(project);
+        } catch (SQLException e) {
+            throw new DbException("Error fetching project by ID: " + e.getMessage(), e);
+        }
     }
 
     // Transaction management methods
@@ -500,77 +1647,41 @@ public class ProjectDao extends DaoBase {
         }
     }
 
-    /**
-     * Sets a parameter in the PreparedStatement based on its type.
-     *
-     * @param stmt           The PreparedStatement.
-     * @param parameterIndex The index of the parameter to set.
-     * @param value          The value to set.
-     * @param type           The Class type of the value.
-     * @throws SQLException If a database access error occurs.
-     */
-    protected void setParameter(PreparedStatement stmt, int parameterIndex, Object value, Class<?> type)
-            throws SQLException {
-        if (type == String.class) {
-            stmt.setString(parameterIndex, (String) value);
-        } else if (type == Integer.class) {
-            stmt.setInt(parameterIndex, (Integer) value);
-        } else if (type == BigDecimal.class) {
-            stmt.setBigDecimal(parameterIndex, (BigDecimal) value);
-        } else {
-            throw new SQLException("Unhandled parameter type: " + type.getName());
-        }
-    }
-
-    /**
-     * Retrieves the last inserted ID for a given table.
-     *
-     * @param conn      The database connection.
-     * @param tableName The name of the table.
-     * @return The last inserted ID.
-     * @throws SQLException If a database access error occurs.
-     */
-    protected Integer getLastInsertId(Connection conn, String tableName) throws SQLException {
-        // Implement database-specific logic to retrieve the last inserted ID
-        // Example for MySQL:
-        String sql = "SELECT LAST_INSERT_ID()";
-        try (PreparedStatement stmt = conn.prepareStatement(sql);
-             ResultSet rs = stmt.executeQuery()) {
-            if (rs.next()) {
-                return rs.getInt(1);
-            } else {
-                throw new SQLException("Failed to retrieve last insert ID for table " + tableName);
-            }
-        }
-    }
-
     public boolean modifyProjectDetails(Project project) {
-        // SQL update statement. Note that the project_id is used in the WHERE clause.
-        String sql = "UPDATE project SET project_name = ?, estimated_hours = ?, actual_hours = ?, difficulty = ?, notes = ? WHERE project_id = ?";
+        // The UPDATE uses the project_id and the version read with the project in its WHERE clause,
+        // so a project changed by someone else since it was read is not overwritten.
+        requireVersion(project);
 
         // Obtain a Connection using try-with-resources. (Assuming you have a DbConnection utility class.)
         try (Connection conn = DbConnection.getConnection()) {
             // Disable auto-commit mode to start a transaction.
             conn.setAutoCommit(false);
 
-            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-                // Set the parameters on the PreparedStatement.
-                stmt.setString(1, project.getProjectName());
-                stmt.setBigDecimal(2, project.getEstimatedHours());
-                stmt.setBigDecimal(3, project.getActualHours());
-                stmt.setInt(4, project.getDifficulty());
-                stmt.setString(5, project.getNotes());
-                // The project_id is used in the WHERE clause.
-                stmt.setInt(6, project.getProjectId());
+            try (PreparedStatement stmt = conn.prepareStatement(UPDATE_PROJECT_SQL)) {
+                // Set the parameters on the PreparedStatement. The project_id and version are used in the WHERE clause.
+                UPDATE_PROJECT_BINDER.bind(stmt, project);
 
                 // Execute the update. The executeUpdate() method returns the number of rows affected.
                 int rowsAffected = stmt.executeUpdate();
 
+                // No row matched: either the project is gone, or its version has moved on (a conflict).
+                if (rowsAffected == 0) {
+                    checkVersionConflict(conn, project);
+                }
+
                 // Commit the transaction.
                 conn.commit();
 
-                // If exactly one row was updated, return true; otherwise, return false.
-                return rowsAffected == 1;
+                // If exactly one row was updated, the project now carries the new version; return true. Otherwise, return false.
+                if (rowsAffected == 1) {
+                    project.setVersion(project.getVersion() + 1);
+                    return true;
+                }
+                return false;
+            } catch (ProjectConflictException e) {
+                // Rollback and let the caller re-read the project and retry.
+                conn.rollback();
+                throw e;
             } catch (SQLException e) {
                 // Rollback the transaction if an error occurs in the inner try block.
                 conn.rollback();
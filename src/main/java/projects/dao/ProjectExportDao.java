@@ -0,0 +1,252 @@
+package projects.dao;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+import projects.exception.DbException;
+
+/**
+ * Exports every project, with its materials, steps, and categories, as JSON lines: one JSON object
+ * per project, in project ID order. Nothing is collected in memory. The project table and each
+ * child table are read with their own MySQL streaming result set, all ordered by project_id, and
+ * the child rows are merge-joined onto the projects as the cursors advance. Each row is written
+ * straight from the result set, so no entities are created and memory use doesn't depend on the
+ * table sizes.
+ *
+ * <p>Each line looks like this (on one line):
+ *
+ * <pre>
+ * {"projectId":1,"projectName":"Birdhouse","estimatedHours":4.00,"actualHours":5.50,"difficulty":2,
+ *  "notes":"Cedar birdhouse","version":0,
+ *  "materials":[{"materialId":1,"materialName":"Cedar board","numRequired":2,"cost":12.50}],
+ *  "steps":[{"stepId":1,"stepText":"Cut the boards","stepOrder":1}],
+ *  "categories":[{"categoryId":1,"categoryName":"Woodworking"}]}
+ * </pre>
+ *
+ * <p>MySQL allows one streaming result set per connection, so an export holds four pooled
+ * connections until it finishes. They are borrowed from the pool together, so concurrent exports
+ * wait for a full set instead of each holding part of one. Each one reads its own consistent
+ * snapshot, so a project changed while the export is starting can show children from slightly
+ * different points in time; child rows whose project isn't in the project cursor are skipped.
+ */
+public class ProjectExportDao {
+    private static final String PROJECTS_SQL =
+            "SELECT " + RowMappers.PROJECT_COLUMNS + " FROM project ORDER BY project_id";
+    private static final String MATERIALS_SQL =
+            "SELECT " + RowMappers.MATERIAL_COLUMNS + " FROM material "
+            + "ORDER BY project_id, material_id";
+    private static final String STEPS_SQL =
+            "SELECT " + RowMappers.STEP_COLUMNS + " FROM step ORDER BY project_id, step_order";
+    // project_id follows the category columns
+    private static final String CATEGORIES_SQL =
+            "SELECT " + RowMappers.CATEGORY_COLUMNS + ", pc.project_id "
+            + "FROM category c JOIN project_category pc USING (category_id) "
+            + "ORDER BY pc.project_id, c.category_id";
+
+    /**
+     * Writes every project as one line of JSON. The writer is flushed but not closed.
+     *
+     * @param out The writer to write to. It should be buffered.
+     * @return The number of projects written.
+     */
+    public long exportProjects(Writer out) {
+        List<Connection> connections = DbConnection.getConnections(4);
+
+        try (Connection projectConn = connections.get(0);
+             Connection materialConn = connections.get(1);
+             Connection stepConn = connections.get(2);
+             Connection categoryConn = connections.get(3);
+             Cursor projects = Cursor.open(projectConn, PROJECTS_SQL, 1);
+             Cursor materials = Cursor.open(materialConn, MATERIALS_SQL, 2);
+             Cursor steps = Cursor.open(stepConn, STEPS_SQL, 2);
+             Cursor categories = Cursor.open(categoryConn, CATEGORIES_SQL, 3)) {
+            long count = 0;
+
+            while (projects.next()) {
+                ResultSet rs = projects.rs;
+                int projectId = rs.getInt(1);
+
+                out.write("{\"projectId\":");
+                out.write(Integer.toString(projectId));
+                writeField(out, "projectName", rs.getString(2));
+                writeField(out, "estimatedHours", rs.getBigDecimal(3));
+                writeField(out, "actualHours", rs.getBigDecimal(4));
+                writeField(out, "difficulty", RowMappers.getInteger(rs, 5));
+                writeField(out, "notes", rs.getString(6));
+                writeField(out, "version", RowMappers.getInteger(rs, 7));
+
+                out.write(",\"materials\":[");
+                for (boolean first = true; materials.advanceTo(projectId); first = false) {
+                    ResultSet child = materials.rs;
+                    out.write(first ? "{\"materialId\":" : ",{\"materialId\":");
+                    out.write(Integer.toString(child.getInt(1)));
+                    writeField(out, "materialName", child.getString(3));
+                    writeField(out, "numRequired", RowMappers.getInteger(child, 4));
+                    writeField(out, "cost", child.getBigDecimal(5));
+                    out.write('}');
+                }
+
+                out.write("],\"steps\":[");
+                for (boolean first = true; steps.advanceTo(projectId); first = false) {
+                    ResultSet child = steps.rs;
+                    out.write(first ? "{\"stepId\":" : ",{\"stepId\":");
+                    out.write(Integer.toString(child.getInt(1)));
+                    writeField(out, "stepText", child.getString(3));
+                    writeField(out, "stepOrder", RowMappers.getInteger(child, 4));
+                    out.write('}');
+                }
+
+                out.write("],\"categories\":[");
+                for (boolean first = true; categories.advanceTo(projectId); first = false) {
+                    ResultSet child = categories.rs;
+                    out.write(first ? "{\"categoryId\":" : ",{\"categoryId\":");
+                    out.write(Integer.toString(child.getInt(1)));
+                    writeField(out, "categoryName", child.getString(2));
+                    out.write('}');
+                }
+
+                out.write("]}\n");
+                count++;
+            }
+
+            out.flush();
+            return count;
+        } catch (SQLException e) {
+            throw new DbException("Error exporting projects: " + e.getMessage(), e);
+        } catch (IOException e) {
+            throw new DbException("Error writing project export: " + e.getMessage(), e);
+        }
+    }
+
+    private static void writeField(Writer out, String name, Integer value) throws IOException {
+        writeName(out, name);
+        out.write(value == null ? "null" : value.toString());
+    }
+
+    private static void writeField(Writer out, String name, BigDecimal value) throws IOException {
+        writeName(out, name);
+        out.write(value == null ? "null" : value.toPlainString());
+    }
+
+    private static void writeField(Writer out, String name, String value) throws IOException {
+        writeName(out, name);
+
+        if (value == null) {
+            out.write("null");
+        } else {
+            writeString(out, value);
+        }
+    }
+
+    // Field names are constants that never need escaping
+    private static void writeName(Writer out, String name) throws IOException {
+        out.write(",\"");
+        out.write(name);
+        out.write("\":");
+    }
+
+    /**
+     * Writes a JSON string, escaping quotes, backslashes, and control characters. Runs of
+     * characters that need no escaping are written in one call.
+     */
+    private static void writeString(Writer out, String value) throws IOException {
+        out.write('"');
+        int start = 0;
+
+        for (int index = 0; index < value.length(); index++) {
+            char ch = value.charAt(index);
+
+            if (ch >= 0x20 && ch != '"' && ch != '\\') {
+                continue;
+            }
+
+            out.write(value, start, index - start);
+            start = index + 1;
+
+            switch (ch) {
+                case '"' -> out.write("\\\"");
+                case '\\' -> out.write("\\\\");
+                case '\n' -> out.write("\\n");
+                case '\r' -> out.write("\\r");
+                case '\t' -> out.write("\\t");
+                default -> out.write(String.format("\\u%04x", (int) ch));
+            }
+        }
+
+        out.write(value, start, value.length() - start);
+        out.write('"');
+    }
+
+    /**
+     * A streaming result set ordered by project ID, read forward only.
+     */
+    private static class Cursor implements AutoCloseable {
+        private final PreparedStatement stmt;
+        private final ResultSet rs;
+        private final int projectIdColumn;
+        private boolean onRow;
+        // True until the current row has been checked by advanceTo, or once it has been returned
+        private boolean consumed = true;
+
+        private Cursor(PreparedStatement stmt, ResultSet rs, int projectIdColumn) {
+            this.stmt = stmt;
+            this.rs = rs;
+            this.projectIdColumn = projectIdColumn;
+        }
+
+        static Cursor open(Connection conn, String sql, int projectIdColumn) throws SQLException {
+            PreparedStatement stmt = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY,
+                    ResultSet.CONCUR_READ_ONLY);
+
+            try {
+                // Connector/J streams rows one at a time instead of reading the whole result set
+                stmt.setFetchSize(Integer.MIN_VALUE);
+                return new Cursor(stmt, stmt.executeQuery(), projectIdColumn);
+            } catch (SQLException e) {
+                stmt.close();
+                throw e;
+            }
+        }
+
+        boolean next() throws SQLException {
+            onRow = rs.next();
+            return onRow;
+        }
+
+        /**
+         * Moves to the next row for a project, skipping rows for lower project IDs. Call it
+         * repeatedly to read each of the project's rows; once they are used up it returns false and
+         * leaves the cursor on the first row of a later project.
+         *
+         * @param projectId The project ID, which must not decrease between calls.
+         * @return True if the cursor is on a row for the project.
+         */
+        boolean advanceTo(int projectId) throws SQLException {
+            if (consumed) {
+                next();
+            }
+
+            while (onRow && rs.getInt(projectIdColumn) < projectId) {
+                next();
+            }
+
+            consumed = onRow && rs.getInt(projectIdColumn) == projectId;
+            return consumed;
+        }
+
+        @Override
+        public void close() throws SQLException {
+            try {
+                rs.close();
+            } finally {
+                stmt.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,365 @@
+package projects.dao;
+
+import java.io.InputStream;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.mysql.cj.jdbc.JdbcStatement;
+
+import projects.DaoBase;
+import projects.entity.ImportReport;
+import projects.exception.DbException;
+
+/**
+ * Imports projects in bulk from a delimited text file. The file is streamed to the server with
+ * LOAD DATA LOCAL INFILE into a temporary staging table, checked there with a few set-based
+ * UPDATEs, and the valid rows are then copied into the project, material, step, category, and
+ * project_category tables with one INSERT ... SELECT each. No row is parsed or bound on the client.
+ *
+ * <p>The file has a header line, which is skipped, followed by one record per line. The first field
+ * is the record type and the second is an import key that ties a project to its children within
+ * the file:
+ *
+ * <pre>
+ * P,key,project name,estimated hours,actual hours,difficulty,notes
+ * M,key,material name,number required,cost
+ * S,key,step text
+ * C,key,category name
+ * </pre>
+ *
+ * Steps are numbered from 1 per project in file order. Empty fields are null, except that a
+ * material's number required and cost default to 0 like {@link ProjectDao} writes them. Rows that
+ * fail a check, or whose project row was rejected, are not imported and are listed in the report.
+ *
+ * <p>The driver must allow LOAD DATA LOCAL ({@code allowLoadLocalInfile=true}, set by the bulk-load
+ * profile) and the server must have {@code local_infile} enabled. The move holds write locks on the
+ * project tables so the project IDs generated by the INSERT ... SELECT form one unbroken sequence
+ * and can be matched back to their import keys; the load and the checks take no locks on them.
+ */
+public class ProjectImportDao extends DaoBase {
+    // Rejected rows listed in the report; the total is always counted
+    private static final int MAX_REPORTED_REJECTS = 100;
+
+    // The header line of the file is not loaded
+    private static final int HEADER_LINES = 1;
+
+    private static final String STAGING_TABLE = "project_import";
+    private static final String KEY_TABLE = "project_import_key";
+
+    /*
+     * Both staging tables are temporary, so they are private to the import's connection and several
+     * imports can run at once. Import keys compare case-sensitively. line_no is AUTO_INCREMENT, so
+     * it follows the session's auto_increment_increment and auto_increment_offset and is only used
+     * for ordering; file line numbers and project sequence numbers are computed densely instead.
+     */
+    private static final String CREATE_STAGING_TABLE_SQL = ""
+            + "CREATE TEMPORARY TABLE " + STAGING_TABLE + " ("
+            + "line_no INT NOT NULL AUTO_INCREMENT, "
+            + "record_type VARCHAR(16), "
+            + "import_key VARCHAR(255) COLLATE utf8mb4_bin, "
+            + "value1 TEXT, value2 TEXT, value3 TEXT, value4 TEXT, value5 TEXT, "
+            + "reject_reason VARCHAR(64), "
+            + "PRIMARY KEY (line_no))";
+    private static final String CREATE_KEY_TABLE_SQL = ""
+            + "CREATE TEMPORARY TABLE " + KEY_TABLE + " ("
+            + "seq INT NOT NULL, "
+            + "import_key VARCHAR(255) COLLATE utf8mb4_bin NOT NULL, "
+            + "line_no INT NOT NULL, "
+            + "project_id INT, "
+            + "PRIMARY KEY (seq), "
+            + "UNIQUE KEY (import_key))";
+    private static final String DROP_STAGING_TABLES_SQL =
+            "DROP TEMPORARY TABLE IF EXISTS " + STAGING_TABLE + ", " + KEY_TABLE;
+
+    /*
+     * Every value is trimmed and an empty value becomes NULL. A trailing carriage return is removed
+     * so files with CRLF line endings load too. Missing trailing fields are loaded as NULL.
+     */
+    private static final String LOAD_COLUMNS = ""
+            + "(@record_type, @import_key, @value1, @value2, @value3, @value4, @value5) "
+            + "SET record_type = UPPER(NULLIF(TRIM(TRIM(TRAILING '\\r' FROM @record_type)), '')), "
+            + "import_key = NULLIF(TRIM(TRIM(TRAILING '\\r' FROM @import_key)), ''), "
+            + "value1 = NULLIF(TRIM(TRIM(TRAILING '\\r' FROM @value1)), ''), "
+            + "value2 = NULLIF(TRIM(TRIM(TRAILING '\\r' FROM @value2)), ''), "
+            + "value3 = NULLIF(TRIM(TRIM(TRAILING '\\r' FROM @value3)), ''), "
+            + "value4 = NULLIF(TRIM(TRIM(TRAILING '\\r' FROM @value4)), ''), "
+            + "value5 = NULLIF(TRIM(TRIM(TRAILING '\\r' FROM @value5)), '')";
+
+    // The file name is a placeholder; the driver sends the stream set on the statement instead
+    private static final String LOAD_CSV_SQL = ""
+            + "LOAD DATA LOCAL INFILE 'projects-import' INTO TABLE " + STAGING_TABLE + " "
+            + "CHARACTER SET utf8mb4 "
+            + "FIELDS TERMINATED BY ',' OPTIONALLY ENCLOSED BY '\"' ESCAPED BY '' "
+            + "LINES TERMINATED BY '\\n' "
+            + "IGNORE " + HEADER_LINES + " LINES "
+            + LOAD_COLUMNS;
+    private static final String LOAD_TSV_SQL = ""
+            + "LOAD DATA LOCAL INFILE 'projects-import' INTO TABLE " + STAGING_TABLE + " "
+            + "CHARACTER SET utf8mb4 "
+            + "FIELDS TERMINATED BY '\\t' "
+            + "LINES TERMINATED BY '\\n' "
+            + "IGNORE " + HEADER_LINES + " LINES "
+            + LOAD_COLUMNS;
+
+    // Sizes and ranges follow the columns in projects-schema.sql
+    private static final String DECIMAL_PATTERN = "'^[0-9]{1,5}([.][0-9]{1,2})?$'";
+    private static final String CHECK_ROWS_SQL = ""
+            + "UPDATE " + STAGING_TABLE + " SET reject_reason = CASE "
+            + "WHEN record_type IS NULL OR record_type NOT IN ('P', 'M', 'S', 'C') THEN 'Unknown record type' "
+            + "WHEN import_key IS NULL THEN 'Missing import key' "
+            + "WHEN CHAR_LENGTH(import_key) > 128 THEN 'Import key is too long' "
+            + "WHEN record_type = 'P' THEN CASE "
+            + "  WHEN value1 IS NULL THEN 'Missing project name' "
+            + "  WHEN CHAR_LENGTH(value1) > 128 THEN 'Project name is too long' "
+            + "  WHEN value2 NOT REGEXP " + DECIMAL_PATTERN + " THEN 'Invalid estimated hours' "
+            + "  WHEN value3 NOT REGEXP " + DECIMAL_PATTERN + " THEN 'Invalid actual hours' "
+            + "  WHEN value4 NOT REGEXP '^[1-5]$' THEN 'Difficulty must be between 1 and 5' "
+            + "  END "
+            + "WHEN record_type = 'M' THEN CASE "
+            + "  WHEN value1 IS NULL THEN 'Missing material name' "
+            + "  WHEN CHAR_LENGTH(value1) > 128 THEN 'Material name is too long' "
+            + "  WHEN value2 NOT REGEXP '^[0-9]{1,9}$' THEN 'Invalid number required' "
+            + "  WHEN value3 NOT REGEXP " + DECIMAL_PATTERN + " THEN 'Invalid cost' "
+            + "  END "
+            + "WHEN record_type = 'S' THEN CASE "
+            + "  WHEN value1 IS NULL THEN 'Missing step text' "
+            + "  END "
+            + "ELSE CASE "
+            + "  WHEN value1 IS NULL THEN 'Missing category name' "
+            + "  WHEN CHAR_LENGTH(value1) > 128 THEN 'Category name is too long' "
+            + "  END "
+            + "END";
+
+    // The first valid project row for each key wins; seq numbers the projects in file order
+    private static final String INSERT_KEYS_SQL = ""
+            + "INSERT INTO " + KEY_TABLE + " (seq, import_key, line_no) "
+            + "SELECT ROW_NUMBER() OVER (ORDER BY MIN(line_no)), import_key, MIN(line_no) "
+            + "FROM " + STAGING_TABLE + " "
+            + "WHERE record_type = 'P' AND reject_reason IS NULL "
+            + "GROUP BY import_key ORDER BY MIN(line_no)";
+    private static final String REJECT_DUPLICATE_PROJECTS_SQL = ""
+            + "UPDATE " + STAGING_TABLE + " s JOIN " + KEY_TABLE + " k ON k.import_key = s.import_key "
+            + "SET s.reject_reason = 'Duplicate project key' "
+            + "WHERE s.record_type = 'P' AND s.reject_reason IS NULL AND s.line_no <> k.line_no";
+    private static final String REJECT_ORPHANS_SQL = ""
+            + "UPDATE " + STAGING_TABLE + " s LEFT JOIN " + KEY_TABLE + " k ON k.import_key = s.import_key "
+            + "SET s.reject_reason = 'No valid project row for this key' "
+            + "WHERE s.record_type <> 'P' AND s.reject_reason IS NULL AND k.import_key IS NULL";
+
+    /*
+     * Only the staging tables (which are temporary and need no lock) may be aliased in the move
+     * statements, because a table locked with LOCK TABLES can only be used under the name it was
+     * locked with.
+     */
+    private static final String LOCK_TABLES_SQL =
+            "LOCK TABLES project WRITE, material WRITE, step WRITE, category WRITE, project_category WRITE";
+    private static final String UNLOCK_TABLES_SQL = "UNLOCK TABLES";
+
+    private static final String MOVE_PROJECTS_SQL = ""
+            + "INSERT INTO project (project_name, estimated_hours, actual_hours, difficulty, notes) "
+            + "SELECT s.value1, CAST(s.value2 AS DECIMAL(7,2)), CAST(s.value3 AS DECIMAL(7,2)), "
+            + "CAST(s.value4 AS SIGNED), s.value5 "
+            + "FROM " + KEY_TABLE + " k JOIN " + STAGING_TABLE + " s ON s.line_no = k.line_no "
+            + "ORDER BY k.seq";
+    /*
+     * The generated IDs start at the first generated key and step by the session's
+     * auto_increment_increment, which is not 1 on some replicated setups. seq numbers the keys
+     * 1, 2, 3, ... in insert order (it is not AUTO_INCREMENT), so it can be scaled by the increment.
+     */
+    private static final String SET_PROJECT_IDS_SQL =
+            "UPDATE " + KEY_TABLE + " SET project_id = ? + (seq - 1) * @@SESSION.auto_increment_increment";
+    private static final String MOVE_MATERIALS_SQL = ""
+            + "INSERT INTO material (project_id, material_name, num_required, cost) "
+            + "SELECT k.project_id, s.value1, COALESCE(CAST(s.value2 AS SIGNED), 0), "
+            + "COALESCE(CAST(s.value3 AS DECIMAL(7,2)), 0) "
+            + "FROM " + STAGING_TABLE + " s JOIN " + KEY_TABLE + " k ON k.import_key = s.import_key "
+            + "WHERE s.record_type = 'M' AND s.reject_reason IS NULL "
+            + "ORDER BY s.line_no";
+    private static final String MOVE_STEPS_SQL = ""
+            + "INSERT INTO step (project_id, step_text, step_order) "
+            + "SELECT k.project_id, s.value1, ROW_NUMBER() OVER (PARTITION BY k.project_id ORDER BY s.line_no) "
+            + "FROM " + STAGING_TABLE + " s JOIN " + KEY_TABLE + " k ON k.import_key = s.import_key "
+            + "WHERE s.record_type = 'S' AND s.reject_reason IS NULL "
+            + "ORDER BY s.line_no";
+    private static final String MOVE_CATEGORIES_SQL = ""
+            + "INSERT INTO category (category_name) "
+            + "SELECT DISTINCT value1 FROM " + STAGING_TABLE + " "
+            + "WHERE record_type = 'C' AND reject_reason IS NULL "
+            + "ON DUPLICATE KEY UPDATE category_name = category_name";
+    private static final String MOVE_PROJECT_CATEGORIES_SQL = ""
+            + "INSERT INTO project_category (project_id, category_id) "
+            + "SELECT DISTINCT k.project_id, category.category_id "
+            + "FROM " + STAGING_TABLE + " s JOIN " + KEY_TABLE + " k ON k.import_key = s.import_key "
+            + "JOIN category ON category.category_name = s.value1 "
+            + "WHERE s.record_type = 'C' AND s.reject_reason IS NULL";
+
+    private static final String COUNT_REJECTS_SQL =
+            "SELECT COUNT(*) FROM " + STAGING_TABLE + " WHERE reject_reason IS NOT NULL";
+    // Rows are numbered densely, because line_no steps by the session's auto_increment_increment
+    private static final String REJECTS_SQL = ""
+            + "SELECT row_no, record_type, import_key, reject_reason FROM ("
+            + "SELECT ROW_NUMBER() OVER (ORDER BY line_no) AS row_no, line_no, record_type, import_key, "
+            + "reject_reason FROM " + STAGING_TABLE + ") s "
+            + "WHERE reject_reason IS NOT NULL ORDER BY line_no LIMIT " + MAX_REPORTED_REJECTS;
+
+    /**
+     * Imports the projects in a delimited file. Valid rows are committed in one transaction; rejected
+     * rows are skipped and reported. If the load or the move fails, nothing is imported.
+     *
+     * @param in        The file contents. The stream is read to the end but not closed.
+     * @param delimiter The field delimiter: {@code ','} for CSV, where fields may be enclosed in
+     *                  double quotes, or {@code '\t'} for TSV, where tabs, newlines, and backslashes
+     *                  in values are escaped with a backslash.
+     * @return The import report.
+     */
+    public ImportReport importProjects(InputStream in, char delimiter) {
+        String loadSql = switch (delimiter) {
+            case ',' -> LOAD_CSV_SQL;
+            case '\t' -> LOAD_TSV_SQL;
+            default -> throw new DbException("Unsupported import delimiter: '" + delimiter + "'");
+        };
+
+        try (Connection conn = DbConnection.getConnection()) {
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute(DROP_STAGING_TABLES_SQL);
+                stmt.execute(CREATE_STAGING_TABLE_SQL);
+                stmt.execute(CREATE_KEY_TABLE_SQL);
+            }
+
+            try {
+                long loadStart = System.nanoTime();
+                long rowsRead = loadStagingTable(conn, loadSql, in);
+                checkRows(conn);
+                long loadMillis = (System.nanoTime() - loadStart) / 1_000_000;
+
+                long moveStart = System.nanoTime();
+                ImportCounts counts = moveRows(conn);
+                long moveMillis = (System.nanoTime() - moveStart) / 1_000_000;
+
+                return new ImportReport(rowsRead, counts.projects, counts.materials, counts.steps,
+                        counts.categoriesCreated, counts.categoryLinks, countRejects(conn), fetchRejects(conn),
+                        loadMillis, moveMillis);
+            } finally {
+                // Temporary tables live as long as the connection, which goes back to the pool
+                try (Statement stmt = conn.createStatement()) {
+                    stmt.execute(DROP_STAGING_TABLES_SQL);
+                }
+            }
+        } catch (SQLException e) {
+            throw new DbException("Error importing projects: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Streams the file into the staging table. The driver sends the stream when the server asks for
+     * the LOCAL file, so nothing is written to disk on either side.
+     *
+     * @return The number of rows loaded.
+     */
+    private long loadStagingTable(Connection conn, String loadSql, InputStream in) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            if (!stmt.isWrapperFor(JdbcStatement.class)) {
+                throw new DbException("Bulk import needs the MySQL Connector/J driver.");
+            }
+
+            stmt.unwrap(JdbcStatement.class).setLocalInfileInputStream(in);
+            return stmt.executeLargeUpdate(loadSql);
+        }
+    }
+
+    /**
+     * Marks the staging rows that can't be imported: rows that fail a field check, duplicate project
+     * keys (the first valid project row for a key wins), and children without a valid project row.
+     */
+    private void checkRows(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate(CHECK_ROWS_SQL);
+            stmt.executeUpdate(INSERT_KEYS_SQL);
+            stmt.executeUpdate(REJECT_DUPLICATE_PROJECTS_SQL);
+            stmt.executeUpdate(REJECT_ORPHANS_SQL);
+        }
+    }
+
+    /**
+     * Copies the valid staging rows into the project tables in one transaction. The tables are
+     * locked for the duration so no other insert can take project IDs from the middle of the range
+     * generated for the import.
+     */
+    private ImportCounts moveRows(Connection conn) throws SQLException {
+        ImportCounts counts = new ImportCounts();
+
+        try (Statement stmt = conn.createStatement()) {
+            startTransaction(conn);
+            stmt.execute(LOCK_TABLES_SQL);
+
+            try {
+                try (PreparedStatement insert =
+                        conn.prepareStatement(MOVE_PROJECTS_SQL, PreparedStatement.RETURN_GENERATED_KEYS)) {
+                    counts.projects = insert.executeUpdate();
+
+                    if (counts.projects > 0) {
+                        try (ResultSet rs = insert.getGeneratedKeys();
+                                PreparedStatement update = conn.prepareStatement(SET_PROJECT_IDS_SQL)) {
+                            if (!rs.next()) {
+                                throw new SQLException("Failed to retrieve generated project_id");
+                            }
+
+                            update.setInt(1, rs.getInt(1));
+                            update.executeUpdate();
+                        }
+                    }
+                }
+
+                counts.materials = stmt.executeUpdate(MOVE_MATERIALS_SQL);
+                counts.steps = stmt.executeUpdate(MOVE_STEPS_SQL);
+                counts.categoriesCreated = stmt.executeUpdate(MOVE_CATEGORIES_SQL);
+                counts.categoryLinks = stmt.executeUpdate(MOVE_PROJECT_CATEGORIES_SQL);
+
+                commitTransaction(conn);
+                return counts;
+            } catch (SQLException | RuntimeException e) {
+                rollbackTransaction(conn);
+                throw e;
+            } finally {
+                stmt.execute(UNLOCK_TABLES_SQL);
+                conn.setAutoCommit(true);
+            }
+        }
+    }
+
+    private long countRejects(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement(); ResultSet rs = stmt.executeQuery(COUNT_REJECTS_SQL)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    private List<ImportReport.Reject> fetchRejects(Connection conn) throws SQLException {
+        List<ImportReport.Reject> rejects = new ArrayList<>();
+
+        try (Statement stmt = conn.createStatement(); ResultSet rs = stmt.executeQuery(REJECTS_SQL)) {
+            while (rs.next()) {
+                rejects.add(new ImportReport.Reject(rs.getLong(1) + HEADER_LINES, rs.getString(2),
+                        rs.getString(3), rs.getString(4)));
+            }
+        }
+
+        return rejects;
+    }
+
+    /**
+     * Rows written by the move.
+     */
+    private static class ImportCounts {
+        private int projects;
+        private int materials;
+        private int steps;
+        private int categoriesCreated;
+        private int categoryLinks;
+    }
+}
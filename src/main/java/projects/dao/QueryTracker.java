@@ -0,0 +1,151 @@
+package projects.dao;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Counts the JDBC statements executed during one logical service call. A service method runs its
+ * body through {@link #call(String, Supplier)} (or opens a scope with {@link #begin(String)} and
+ * closes it when it returns); every statement executed on the
+ * same thread in between is counted against the scope. When a scope closes having executed more
+ * statements than the warning threshold, a line is printed, which makes N+1 query patterns easy to
+ * spot. Counting only happens when JDBC tracing is enabled (see {@link JdbcTracing}).
+ */
+public final class QueryTracker {
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    // Returned by begin() when tracing is disabled so untraced calls don't touch the thread local
+    private static final Scope DISABLED = new Scope("disabled", null);
+
+    private QueryTracker() {
+    }
+
+    /**
+     * Opens a scope for a service call. If a scope is already open on this thread (a service call
+     * made from another), the new scope is nested and its statements count toward both.
+     *
+     * @param name The name of the call, for example "ProjectService.fetchAllProjects".
+     * @return The scope, which must be closed when the call finishes.
+     */
+    public static Scope begin(String name) {
+        if (!JdbcTracing.isEnabled()) {
+            return DISABLED;
+        }
+
+        Scope scope = new Scope(name, CURRENT.get());
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    /**
+     * Runs a service call inside a scope, closing the scope when the call returns or throws.
+     *
+     * @param <T>  The result type of the call.
+     * @param name The name of the call, for example "ProjectService.fetchAllProjects".
+     * @param call The call.
+     * @return The result of the call.
+     */
+    public static <T> T call(String name, Supplier<T> call) {
+        Scope scope = begin(name);
+
+        try {
+            return call.get();
+        } finally {
+            scope.close();
+        }
+    }
+
+    /**
+     * Runs a service call that returns nothing inside a scope, like {@link #call(String, Supplier)}.
+     *
+     * @param name The name of the call.
+     * @param call The call.
+     */
+    public static void run(String name, Runnable call) {
+        Scope scope = begin(name);
+
+        try {
+            call.run();
+        } finally {
+            scope.close();
+        }
+    }
+
+    /**
+     * Counts one executed statement against the scopes open on this thread.
+     */
+    static void statementExecuted() {
+        for (Scope scope = CURRENT.get(); scope != null; scope = scope.parent) {
+            scope.statementCount.incrementAndGet();
+        }
+    }
+
+    /**
+     * Wraps a task that a service call hands to another thread so that the statements it executes
+     * are counted against the scopes open on the calling thread.
+     *
+     * @param <T>  The result type of the task.
+     * @param task The task.
+     * @return The wrapped task, or the task itself if no scope is open.
+     */
+    static <T> Callable<T> propagate(Callable<T> task) {
+        Scope scope = CURRENT.get();
+
+        if (scope == null) {
+            return task;
+        }
+
+        return () -> {
+            Scope previous = CURRENT.get();
+            CURRENT.set(scope);
+
+            try {
+                return task.call();
+            } finally {
+                CURRENT.set(previous);
+            }
+        };
+    }
+
+    /**
+     * A tracked service call.
+     */
+    public static final class Scope implements AutoCloseable {
+        private final String name;
+        private final Scope parent;
+        private final AtomicInteger statementCount = new AtomicInteger();
+
+        private Scope(String name, Scope parent) {
+            this.name = name;
+            this.parent = parent;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return The number of statements executed in this scope so far.
+         */
+        public int getStatementCount() {
+            return statementCount.get();
+        }
+
+        @Override
+        public void close() {
+            if (this == DISABLED) {
+                return;
+            }
+
+            CURRENT.set(parent);
+
+            int threshold = JdbcTracing.getStatementWarnThreshold();
+            int count = statementCount.get();
+            if (count > threshold) {
+                System.out.println("Query count warning: " + name + " executed " + count
+                        + " statements (threshold " + threshold + ").");
+            }
+        }
+    }
+}
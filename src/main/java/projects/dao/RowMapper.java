@@ -0,0 +1,22 @@
+package projects.dao;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Creates an object from the current row of a result set.
+ *
+ * @param <T> The type of object created.
+ */
+@FunctionalInterface
+public interface RowMapper<T> {
+
+    /**
+     * Maps the current row. The result set must be positioned on the row by the caller.
+     *
+     * @param rs The result set.
+     * @return The mapped object.
+     * @throws SQLException If a column cannot be read.
+     */
+    T map(ResultSet rs) throws SQLException;
+}
@@ -0,0 +1,88 @@
+package projects.dao;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import projects.entity.Category;
+import projects.entity.Material;
+import projects.entity.Project;
+import projects.entity.Step;
+
+/**
+ * Row mappers for the entities in {@code projects.entity}. Each mapper reads its columns by index
+ * in the order given by the matching column list constant, so queries must select exactly those
+ * columns first (in that order) for the mapper to work. Reading by index avoids the column name
+ * lookups of {@code getInt(String)} and the reflection used by {@code DaoBase.extract}.
+ */
+public final class RowMappers {
+
+    /** Columns read by {@link #PROJECT}, in order. */
+    public static final String PROJECT_COLUMNS =
+            "project_id, project_name, estimated_hours, actual_hours, difficulty, notes, version";
+
+    /** Columns read by {@link #MATERIAL}, in order. */
+    public static final String MATERIAL_COLUMNS =
+            "material_id, project_id, material_name, num_required, cost";
+
+    /** Columns read by {@link #STEP}, in order. */
+    public static final String STEP_COLUMNS =
+            "step_id, project_id, step_text, step_order";
+
+    /** Columns read by {@link #CATEGORY}, in order. */
+    public static final String CATEGORY_COLUMNS =
+            "category_id, category_name";
+
+    public static final RowMapper<Project> PROJECT = rs -> {
+        Project project = new Project();
+        project.setProjectId(getInteger(rs, 1));
+        project.setProjectName(rs.getString(2));
+        project.setEstimatedHours(rs.getBigDecimal(3));
+        project.setActualHours(rs.getBigDecimal(4));
+        project.setDifficulty(getInteger(rs, 5));
+        project.setNotes(rs.getString(6));
+        project.setVersion(getInteger(rs, 7));
+        return project;
+    };
+
+    public static final RowMapper<Material> MATERIAL = rs -> {
+        Material material = new Material();
+        material.setMaterialId(getInteger(rs, 1));
+        material.setProjectId(getInteger(rs, 2));
+        material.setMaterialName(rs.getString(3));
+        material.setNumRequired(getInteger(rs, 4));
+        material.setCost(rs.getBigDecimal(5));
+        return material;
+    };
+
+    public static final RowMapper<Step> STEP = rs -> {
+        Step step = new Step();
+        step.setStepId(getInteger(rs, 1));
+        step.setProjectId(getInteger(rs, 2));
+        step.setStepText(rs.getString(3));
+        step.setStepOrder(getInteger(rs, 4));
+        return step;
+    };
+
+    public static final RowMapper<Category> CATEGORY = rs -> {
+        Category category = new Category();
+        category.setCategoryId(getInteger(rs, 1));
+        category.setCategoryName(rs.getString(2));
+        return category;
+    };
+
+    private RowMappers() {
+    }
+
+    /**
+     * Reads a nullable integer column.
+     *
+     * @param rs          The result set.
+     * @param columnIndex The one-based column index.
+     * @return The value, or null if the column is SQL NULL.
+     * @throws SQLException If the column cannot be read.
+     */
+    static Integer getInteger(ResultSet rs, int columnIndex) throws SQLException {
+        int value = rs.getInt(columnIndex);
+        return rs.wasNull() ? null : value;
+    }
+}
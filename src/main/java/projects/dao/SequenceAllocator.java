@@ -0,0 +1,191 @@
+package projects.dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import projects.exception.DbException;
+
+/**
+ * Hands out ordering values for child rows (for example step_order) from a counter kept per parent
+ * row. Values are reserved from the counter table in blocks and then handed out from memory, so
+ * appending a child normally costs no database work at all, and never a COUNT(*) of the existing
+ * children.
+ *
+ * <p>A block is reserved with one statement on its own auto-commit connection:
+ *
+ * <pre>
+ * INSERT INTO counter (owner, next_value)
+ *     SELECT ?, LAST_INSERT_ID(COALESCE(MAX(value), 0) + 1 + block) FROM child WHERE owner = ?
+ * ON DUPLICATE KEY UPDATE next_value = LAST_INSERT_ID(next_value + block)
+ * </pre>
+ *
+ * The first reservation for a parent seeds the counter from the largest value already stored, and
+ * later ones just advance it. Either way the new counter value comes back as the statement's
+ * generated key, and the reserved block is the {@code block} values below it. The counter row is
+ * locked only for that one statement, so concurrent writers (in this process or others) get
+ * disjoint blocks without holding locks for the length of their transactions.
+ *
+ * <p>Values are unique and increase within a process, but they are not dense: a block that is not
+ * used up (because the process stops, or its cache entry is dropped) leaves a gap.
+ *
+ * <p>A transactional allocation ({@link #allocate(Connection, Integer, int)}, used when a parent's
+ * children are renumbered) moves the counter past any cached block, so it drops this process's
+ * cached block for the parent; later values are reserved above the renumbered ones. Blocks
+ * cached by other processes are not dropped, so a writer in another process can still hand out
+ * values below the renumbered ones until its block is used up. Writers in different processes
+ * therefore interleave by block rather than by time.
+ */
+public class SequenceAllocator {
+    // Cached blocks are dropped (leaving gaps) once this many parents have one
+    private static final int MAX_CACHED_OWNERS = 10_000;
+
+    private final String reserveSql;
+    private final int blockSize;
+    private final Map<Integer, Block> blocks = new ConcurrentHashMap<>();
+
+    /**
+     * Creates an allocator.
+     *
+     * @param counterTable The counter table, with the owner column as its primary key and an INT
+     *                     {@code next_value} column.
+     * @param childTable   The table whose rows receive the values.
+     * @param ownerColumn  The parent ID column, with the same name in both tables.
+     * @param valueColumn  The column of the child table that holds the values.
+     * @param blockSize    The number of values reserved at a time.
+     */
+    public SequenceAllocator(String counterTable, String childTable, String ownerColumn, String valueColumn,
+            int blockSize) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("Block size must be at least 1");
+        }
+
+        this.blockSize = blockSize;
+        this.reserveSql = ""
+                + "INSERT INTO " + counterTable + " (" + ownerColumn + ", next_value) "
+                + "SELECT ?, LAST_INSERT_ID(COALESCE(MAX(" + valueColumn + "), 0) + 1 + ?) "
+                + "FROM " + childTable + " WHERE " + ownerColumn + " = ? "
+                + "ON DUPLICATE KEY UPDATE next_value = LAST_INSERT_ID(next_value + ?)";
+    }
+
+    /**
+     * Allocates consecutive values for a parent.
+     *
+     * @param ownerId The parent ID.
+     * @param count   The number of values needed.
+     * @return The first of {@code count} consecutive values.
+     * @throws DbException If a block cannot be reserved, for example because the parent doesn't
+     *                     exist.
+     */
+    public int allocate(Integer ownerId, int count) {
+        if (count < 1) {
+            throw new IllegalArgumentException("Count must be at least 1");
+        }
+
+        if (blocks.size() > MAX_CACHED_OWNERS) {
+            blocks.clear();
+        }
+
+        Block block = blocks.computeIfAbsent(ownerId, id -> new Block());
+
+        synchronized (block) {
+            if (block.limit - block.next < count) {
+                int size = Math.max(count, blockSize);
+                block.limit = reserve(ownerId, size);
+                block.next = block.limit - size;
+            }
+
+            int first = block.next;
+            block.next += count;
+            return first;
+        }
+    }
+
+    /**
+     * Allocates consecutive values for a parent as part of the caller's transaction, without using
+     * the cached blocks. The counter row stays locked until the transaction ends, and a rollback
+     * returns the values. This is for writers that already hold a transaction on the parent and
+     * would otherwise have to borrow a second connection. The parent's cached block is dropped,
+     * because its values are now below the counter.
+     *
+     * @param conn    The caller's connection.
+     * @param ownerId The parent ID.
+     * @param count   The number of values needed.
+     * @return The first of {@code count} consecutive values.
+     * @throws SQLException If a database access error occurs.
+     */
+    public int allocate(Connection conn, Integer ownerId, int count) throws SQLException {
+        if (count < 1) {
+            throw new IllegalArgumentException("Count must be at least 1");
+        }
+
+        int limit = reserve(conn, ownerId, count);
+        // Dropped after the reservation, which holds the counter row until the caller's transaction
+        // ends, so a block reserved in the meantime comes from above these values
+        forget(ownerId);
+        return limit - count;
+    }
+
+    /**
+     * Drops the cached block for a parent, for example after the parent is deleted. A caller
+     * already waiting on the block reserves a new one instead of using what was left of it.
+     *
+     * @param ownerId The parent ID.
+     */
+    public void forget(Integer ownerId) {
+        Block block = blocks.remove(ownerId);
+
+        if (block != null) {
+            synchronized (block) {
+                block.limit = block.next;
+            }
+        }
+    }
+
+    /**
+     * Reserves a block of values in the counter table on its own auto-commit connection.
+     *
+     * @return The counter value after the reservation, one past the last reserved value.
+     */
+    private int reserve(Integer ownerId, int size) {
+        try (Connection conn = DbConnection.getConnection()) {
+            return reserve(conn, ownerId, size);
+        } catch (SQLException e) {
+            throw new DbException("Error reserving sequence values for ID=" + ownerId + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Reserves a block of values in the counter table on the given connection.
+     *
+     * @return The counter value after the reservation, one past the last reserved value.
+     */
+    private int reserve(Connection conn, Integer ownerId, int size) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(reserveSql, PreparedStatement.RETURN_GENERATED_KEYS)) {
+            stmt.setInt(1, ownerId);
+            stmt.setInt(2, size);
+            stmt.setInt(3, ownerId);
+            stmt.setInt(4, size);
+            stmt.executeUpdate();
+
+            try (ResultSet rs = stmt.getGeneratedKeys()) {
+                if (!rs.next()) {
+                    throw new SQLException("No counter value returned");
+                }
+                return rs.getInt(1);
+            }
+        }
+    }
+
+    /**
+     * The unused part of a reserved block: values from {@code next} up to, but not including,
+     * {@code limit}.
+     */
+    private static class Block {
+        private int next;
+        private int limit;
+    }
+}
@@ -0,0 +1,122 @@
+package projects.dao;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Sets the parameters of a prepared statement from an object. This is the write-side counterpart
+ * of {@link RowMapper}: a binder is built once per SQL statement with {@link #builder()}, listing
+ * one typed column per parameter in order, and then reused for every row. Binding a row is a loop
+ * over those columns that calls the matching {@code setXxx} method directly, with no lookup by
+ * class, no casts, and no boxing of {@code int} values.
+ *
+ * @param <T> The type of object whose values are bound.
+ */
+@FunctionalInterface
+public interface StatementBinder<T> {
+
+    /**
+     * Sets every parameter of the statement from the object.
+     *
+     * @param stmt  The prepared statement.
+     * @param value The object holding the values.
+     * @throws SQLException If a parameter cannot be set.
+     */
+    void bind(PreparedStatement stmt, T value) throws SQLException;
+
+    /**
+     * Starts a binder. Columns are bound to parameters 1, 2, ... in the order they are added.
+     *
+     * @param <T> The type of object whose values are bound.
+     * @return The builder.
+     */
+    static <T> Builder<T> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * Sets one parameter from the object.
+     *
+     * @param <T> The type of object whose value is bound.
+     */
+    @FunctionalInterface
+    interface Column<T> {
+        void bind(PreparedStatement stmt, int parameterIndex, T value) throws SQLException;
+    }
+
+    /**
+     * Builds a {@link StatementBinder} from typed columns.
+     *
+     * @param <T> The type of object whose values are bound.
+     */
+    final class Builder<T> {
+        private final List<Column<? super T>> columns = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        /**
+         * Adds a VARCHAR column. A null value is bound as SQL NULL.
+         */
+        public Builder<T> string(Function<? super T, String> getter) {
+            return column((stmt, index, value) -> stmt.setString(index, getter.apply(value)));
+        }
+
+        /**
+         * Adds a nullable INTEGER column. A null value is bound as SQL NULL.
+         */
+        public Builder<T> integer(Function<? super T, Integer> getter) {
+            return column((stmt, index, value) -> {
+                Integer integer = getter.apply(value);
+
+                if (integer == null) {
+                    stmt.setNull(index, Types.INTEGER);
+                } else {
+                    stmt.setInt(index, integer);
+                }
+            });
+        }
+
+        /**
+         * Adds a non-null INTEGER column read as a primitive {@code int}.
+         */
+        public Builder<T> intValue(ToIntFunction<? super T> getter) {
+            return column((stmt, index, value) -> stmt.setInt(index, getter.applyAsInt(value)));
+        }
+
+        /**
+         * Adds a DECIMAL column. A null value is bound as SQL NULL.
+         */
+        public Builder<T> decimal(Function<? super T, BigDecimal> getter) {
+            return column((stmt, index, value) -> stmt.setBigDecimal(index, getter.apply(value)));
+        }
+
+        /**
+         * Adds a column with its own binding logic.
+         */
+        public Builder<T> column(Column<? super T> column) {
+            columns.add(column);
+            return this;
+        }
+
+        /**
+         * @return A binder that sets the columns added so far.
+         */
+        @SuppressWarnings("unchecked")
+        public StatementBinder<T> build() {
+            Column<? super T>[] bound = (Column<? super T>[]) columns.toArray(new Column<?>[0]);
+
+            return (stmt, value) -> {
+                for (int index = 0; index < bound.length; index++) {
+                    bound[index].bind(stmt, index + 1, value);
+                }
+            };
+        }
+    }
+}
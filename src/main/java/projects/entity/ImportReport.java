@@ -0,0 +1,144 @@
+package projects.entity;
+
+import java.util.List;
+
+/**
+ * Summarizes a bulk project import: how many rows were read and written, how long the load and the
+ * move took, and the rows that were rejected.
+ */
+public class ImportReport {
+    private final long rowsRead;
+    private final int projects;
+    private final int materials;
+    private final int steps;
+    private final int categoriesCreated;
+    private final int categoryLinks;
+    private final long rejectedRows;
+    private final List<Reject> rejects;
+    private final long loadMillis;
+    private final long moveMillis;
+
+    public ImportReport(long rowsRead, int projects, int materials, int steps, int categoriesCreated,
+            int categoryLinks, long rejectedRows, List<Reject> rejects, long loadMillis, long moveMillis) {
+        this.rowsRead = rowsRead;
+        this.projects = projects;
+        this.materials = materials;
+        this.steps = steps;
+        this.categoriesCreated = categoriesCreated;
+        this.categoryLinks = categoryLinks;
+        this.rejectedRows = rejectedRows;
+        this.rejects = rejects;
+        this.loadMillis = loadMillis;
+        this.moveMillis = moveMillis;
+    }
+
+    // Getters
+
+    public long getRowsRead() {
+        return rowsRead;
+    }
+
+    public int getProjects() {
+        return projects;
+    }
+
+    public int getMaterials() {
+        return materials;
+    }
+
+    public int getSteps() {
+        return steps;
+    }
+
+    public int getCategoriesCreated() {
+        return categoriesCreated;
+    }
+
+    public int getCategoryLinks() {
+        return categoryLinks;
+    }
+
+    public long getRejectedRows() {
+        return rejectedRows;
+    }
+
+    /**
+     * Returns the first rejected rows in file order. There may be more rejects than are listed here;
+     * {@link #getRejectedRows()} has the total.
+     *
+     * @return The rejected rows.
+     */
+    public List<Reject> getRejects() {
+        return rejects;
+    }
+
+    /**
+     * @return The time taken to stream the file into the staging table and check its rows.
+     */
+    public long getLoadMillis() {
+        return loadMillis;
+    }
+
+    /**
+     * @return The time taken to copy the valid rows into the project tables.
+     */
+    public long getMoveMillis() {
+        return moveMillis;
+    }
+
+    /**
+     * @return The number of file rows processed per second, over both the load and the move.
+     */
+    public long getRowsPerSecond() {
+        return rowsRead * 1000 / Math.max(1, loadMillis + moveMillis);
+    }
+
+    @Override
+    public String toString() {
+        return "Read " + rowsRead + " rows in " + (loadMillis + moveMillis) + " ms (load " + loadMillis
+                + " ms, move " + moveMillis + " ms, " + getRowsPerSecond() + " rows/s): " + projects
+                + " projects, " + materials + " materials, " + steps + " steps, " + categoryLinks
+                + " category links (" + categoriesCreated + " new categories), " + rejectedRows + " rejected rows";
+    }
+
+    /**
+     * A row of the import file that was not imported.
+     */
+    public static class Reject {
+        private final long lineNumber;
+        private final String recordType;
+        private final String importKey;
+        private final String reason;
+
+        public Reject(long lineNumber, String recordType, String importKey, String reason) {
+            this.lineNumber = lineNumber;
+            this.recordType = recordType;
+            this.importKey = importKey;
+            this.reason = reason;
+        }
+
+        /**
+         * @return The line number in the file, counting the header as line 1.
+         */
+        public long getLineNumber() {
+            return lineNumber;
+        }
+
+        public String getRecordType() {
+            return recordType;
+        }
+
+        public String getImportKey() {
+            return importKey;
+        }
+
+        public String getReason() {
+            return reason;
+        }
+
+        @Override
+        public String toString() {
+            return "Line " + lineNumber + " (" + recordType + ", key " + importKey + "): " + reason;
+        }
+    }
+}
@@ -14,6 +14,7 @@ public class Project {
     private BigDecimal actualHours;
     private Integer difficulty;
     private String notes;
+    private Integer version;
 
     private List<Material> materials = new LinkedList<>();
     private List<Step> steps = new LinkedList<>();
@@ -69,6 +70,20 @@ public class Project {
         this.notes = notes;
     }
 
+    /**
+     * Returns the version of the project row this object was read from. It is incremented on every
+     * update and checked by the DAO so that a stale copy cannot overwrite newer changes.
+     *
+     * @return The row version, or null if the project has not been saved.
+     */
+    public Integer getVersion() {
+        return version;
+    }
+
+    public void setVersion(Integer version) {
+        this.version = version;
+    }
+
     public List<Material> getMaterials() {
         return materials;
     }
@@ -0,0 +1,36 @@
+package projects.entity;
+
+import java.util.List;
+
+/**
+ * Represents one page of projects from a keyset-paginated listing.
+ */
+public class ProjectPage {
+    private final List<Project> projects;
+    private final Integer nextPageToken;
+
+    public ProjectPage(List<Project> projects, Integer nextPageToken) {
+        this.projects = projects;
+        this.nextPageToken = nextPageToken;
+    }
+
+    // Getters
+
+    public List<Project> getProjects() {
+        return projects;
+    }
+
+    /**
+     * Returns the token used to request the next page. This is the ID of the last project on this
+     * page; the next page starts after it.
+     *
+     * @return The next page token, or null if this is the last page.
+     */
+    public Integer getNextPageToken() {
+        return nextPageToken;
+    }
+
+    public boolean hasNextPage() {
+        return nextPageToken != null;
+    }
+}
@@ -0,0 +1,32 @@
+package projects.exception;
+
+/**
+ * Thrown when a project update is rejected because the project was changed by someone else after
+ * it was read. The caller should re-read the project, reapply its changes, and try again.
+ */
+@SuppressWarnings("serial")
+public class ProjectConflictException extends DbException {
+	private final Integer projectId;
+	private final Integer expectedVersion;
+	private final Integer actualVersion;
+
+	public ProjectConflictException(Integer projectId, Integer expectedVersion, Integer actualVersion) {
+		super("Project with ID=" + projectId + " was changed by another user (expected version "
+				+ expectedVersion + ", found " + actualVersion + "). Reload the project and try again.");
+		this.projectId = projectId;
+		this.expectedVersion = expectedVersion;
+		this.actualVersion = actualVersion;
+	}
+
+	public Integer getProjectId() {
+		return projectId;
+	}
+
+	public Integer getExpectedVersion() {
+		return expectedVersion;
+	}
+
+	public Integer getActualVersion() {
+		return actualVersion;
+	}
+}
@@ -0,0 +1,50 @@
+package projects.metrics;
+
+import java.io.PrintStream;
+
+import projects.config.AppConfig;
+
+/**
+ * Holds the process-wide metrics registry. Metrics are off unless the setting
+ * {@code projects.metrics.enabled} is {@code true} (see {@link AppConfig}); when they are off, the DAO is not instrumented
+ * at all, so there is no recording overhead.
+ */
+public final class Metrics {
+    private static final String ENABLED_PROPERTY = "projects.metrics.enabled";
+    private static final String REPORT_INTERVAL_PROPERTY = "projects.metrics.report.seconds";
+    private static final long DEFAULT_REPORT_INTERVAL_SECONDS = 60;
+
+    private static final boolean ENABLED = AppConfig.get().getBoolean(ENABLED_PROPERTY, false);
+    private static final MetricsRegistry REGISTRY = new InMemoryMetricsRegistry();
+
+    private static MetricsReporter reporter;
+
+    private Metrics() {
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    public static MetricsRegistry getRegistry() {
+        return REGISTRY;
+    }
+
+    /**
+     * Starts printing the registry to the given stream at the interval set by
+     * {@code projects.metrics.report.seconds} (default 60). Does nothing if metrics are disabled, the
+     * interval is not positive, or reporting has already started.
+     *
+     * @param out The stream to print reports to.
+     */
+    public static synchronized void startReporting(PrintStream out) {
+        long intervalSeconds = AppConfig.get().getLong(REPORT_INTERVAL_PROPERTY, DEFAULT_REPORT_INTERVAL_SECONDS);
+
+        if (!ENABLED || intervalSeconds <= 0 || reporter != null) {
+            return;
+        }
+
+        reporter = new MetricsReporter(REGISTRY, out);
+        reporter.start(intervalSeconds);
+    }
+}
@@ -0,0 +1,22 @@
+package projects.metrics;
+
+import java.util.Collection;
+
+/**
+ * A registry of per-operation metrics.
+ */
+public interface MetricsRegistry {
+
+    /**
+     * Returns the metrics for an operation, creating them on first use.
+     *
+     * @param name The operation name, for example "ProjectDao.fetchProjectById".
+     * @return The operation's metrics.
+     */
+    OperationMetrics operation(String name);
+
+    /**
+     * @return The metrics of every operation recorded so far.
+     */
+    Collection<OperationMetrics> operations();
+}
@@ -0,0 +1,57 @@
+package projects.metrics;
+
+import java.io.PrintStream;
+import java.time.LocalDateTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically prints a plain-text report of a metrics registry.
+ */
+public class MetricsReporter implements AutoCloseable {
+    private final MetricsRegistry registry;
+    private final PrintStream out;
+    private final ScheduledExecutorService scheduler;
+
+    public MetricsReporter(MetricsRegistry registry, PrintStream out) {
+        this.registry = registry;
+        this.out = out;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "metrics-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts printing a report every {@code intervalSeconds} seconds.
+     *
+     * @param intervalSeconds The time between reports.
+     */
+    public void start(long intervalSeconds) {
+        scheduler.scheduleAtFixedRate(() -> out.print(formatReport()), intervalSeconds, intervalSeconds,
+                TimeUnit.SECONDS);
+    }
+
+    /**
+     * Formats every operation in the registry, one per line.
+     *
+     * @return The report text.
+     */
+    public String formatReport() {
+        StringBuilder report = new StringBuilder();
+
+        report.append("\n--- Metrics at ").append(LocalDateTime.now()).append(" ---\n");
+        for (OperationMetrics operation : registry.operations()) {
+            report.append("  ").append(operation).append('\n');
+        }
+
+        return report.toString();
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,66 @@
+package projects.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The metrics recorded for one operation: call, error, and row counts plus a latency histogram.
+ */
+public class OperationMetrics {
+    private final String name;
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder rows = new LongAdder();
+
+    public OperationMetrics(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Records one completed call.
+     *
+     * @param elapsedNanos The time the call took.
+     * @param rowCount     The number of rows the call returned or changed.
+     */
+    public void recordSuccess(long elapsedNanos, long rowCount) {
+        calls.increment();
+        rows.add(rowCount);
+        latency.record(elapsedNanos);
+    }
+
+    /**
+     * Records one call that threw an exception.
+     *
+     * @param elapsedNanos The time until the call failed.
+     */
+    public void recordError(long elapsedNanos) {
+        calls.increment();
+        errors.increment();
+        latency.record(elapsedNanos);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    public long getCalls() {
+        return calls.sum();
+    }
+
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    public long getRows() {
+        return rows.sum();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s calls=%d errors=%d rows=%d %s", name, getCalls(), getErrors(), getRows(), latency);
+    }
+}
@@ -0,0 +1,211 @@
+package projects.service;
+
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import projects.dao.DbConnection;
+import projects.entity.ImportReport;
+import projects.entity.Project;
+import projects.entity.ProjectPage;
+import projects.entity.Step;
+
+/**
+ * An asynchronous facade over {@link ProjectService}. Every call runs the blocking service method on
+ * its own virtual thread and returns a {@link CompletableFuture}, so a front end can have thousands
+ * of requests in flight without tying up a platform thread for each one.
+ *
+ * <p>Calls are admitted by the number of pooled connections they hold at once: most hold one, but
+ * {@link #forEachProject(Consumer)} holds two, {@link #exportProjects(Path)} holds four, and
+ * {@link #fetchProjectById(Integer)} holds four when parallel child loading is on. Calls run only
+ * while their connections fit within {@code maxConnections}; the rest wait, cheaply, on their
+ * virtual threads. By default the limit is the connection pool's maximum size, so waiting happens
+ * here rather than in the pool, where a borrower gives up after the pool's borrow timeout. An
+ * exception thrown by the service completes the future exceptionally with that exception.
+ */
+public class AsyncProjectService implements AutoCloseable {
+    // Connections held at once by ProjectService.forEachProject (the project stream and child reads)
+    private static final int STREAM_CONNECTIONS = 2;
+
+    // Connections held at once by ProjectService.fetchProjectById with parallel child loading
+    private static final int PARALLEL_FETCH_CONNECTIONS = 4;
+
+    // Connections held at once by ProjectService.exportProjects (one streaming cursor per table)
+    private static final int EXPORT_CONNECTIONS = 4;
+
+    private final ProjectService projectService;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final int maxConnections;
+    // One permit per connection
+    private final Semaphore permits;
+
+    /**
+     * Creates a facade over a new {@link ProjectService}, letting calls use every connection in the
+     * connection pool.
+     */
+    public AsyncProjectService() {
+        this(new ProjectService(), DbConnection.getPool().getMaxSize());
+    }
+
+    /**
+     * Creates a facade over an existing service.
+     *
+     * @param projectService The service that does the work.
+     * @param maxConnections The maximum number of connections that running calls hold at once. A
+     *                       call needing more than this runs alone.
+     */
+    public AsyncProjectService(ProjectService projectService, int maxConnections) {
+        if (maxConnections < 1) {
+            throw new IllegalArgumentException("Maximum connections must be at least 1");
+        }
+
+        this.projectService = projectService;
+        this.maxConnections = maxConnections;
+        this.permits = new Semaphore(maxConnections, true);
+    }
+
+    /**
+     * @see ProjectService#addProject(Project)
+     */
+    public CompletableFuture<Project> addProject(Project project) {
+        return submit(() -> projectService.addProject(project));
+    }
+
+    /**
+     * @see ProjectService#addProjects(Collection, int)
+     */
+    public CompletableFuture<Integer> addProjects(Collection<Project> projects, int batchSize) {
+        return submit(() -> projectService.addProjects(projects, batchSize));
+    }
+
+    /**
+     * @see ProjectService#addProjects(Collection)
+     */
+    public CompletableFuture<Integer> addProjects(Collection<Project> projects) {
+        return submit(() -> projectService.addProjects(projects));
+    }
+
+    /**
+     * @see ProjectService#importProjects(Path)
+     */
+    public CompletableFuture<ImportReport> importProjects(Path file) {
+        return submit(() -> projectService.importProjects(file));
+    }
+
+    /**
+     * @see ProjectService#exportProjects(Path)
+     */
+    public CompletableFuture<Long> exportProjects(Path file) {
+        return submit(EXPORT_CONNECTIONS, () -> projectService.exportProjects(file));
+    }
+
+    /**
+     * @see ProjectService#fetchAllProjects()
+     */
+    public CompletableFuture<List<Project>> fetchAllProjects() {
+        return submit(projectService::fetchAllProjects);
+    }
+
+    /**
+     * @see ProjectService#fetchProjectPage(Integer, int)
+     */
+    public CompletableFuture<ProjectPage> fetchProjectPage(Integer pageToken, int pageSize) {
+        return submit(() -> projectService.fetchProjectPage(pageToken, pageSize));
+    }
+
+    /**
+     * Passes every project to a callback, which is called on the virtual thread reading the rows.
+     * The future completes once the last project has been passed.
+     *
+     * @see ProjectService#forEachProject(Consumer)
+     */
+    public CompletableFuture<Void> forEachProject(Consumer<? super Project> action) {
+        return submit(STREAM_CONNECTIONS, () -> {
+            projectService.forEachProject(action);
+            return null;
+        });
+    }
+
+    /**
+     * @see ProjectService#fetchProjectById(Integer)
+     */
+    public CompletableFuture<Project> fetchProjectById(Integer projectId) {
+        int connections = projectService.isParallelChildLoading() ? PARALLEL_FETCH_CONNECTIONS : 1;
+        return submit(connections, () -> projectService.fetchProjectById(projectId));
+    }
+
+    /**
+     * @see ProjectService#updateProject(Project)
+     */
+    public CompletableFuture<Integer> updateProject(Project project) {
+        return submit(() -> projectService.updateProject(project));
+    }
+
+    /**
+     * @see ProjectService#addSteps(Integer, List)
+     */
+    public CompletableFuture<List<Step>> addSteps(Integer projectId, List<Step> steps) {
+        return submit(() -> projectService.addSteps(projectId, steps));
+    }
+
+    /**
+     * @see ProjectService#deleteProject(Integer)
+     */
+    public CompletableFuture<Integer> deleteProject(Integer projectId) {
+        return submit(() -> projectService.deleteProject(projectId));
+    }
+
+    /**
+     * @see ProjectService#modifyProjectDetails(Project)
+     */
+    public CompletableFuture<Void> modifyProjectDetails(Project project) {
+        return submit(() -> {
+            projectService.modifyProjectDetails(project);
+            return null;
+        });
+    }
+
+    /**
+     * Stops accepting calls and waits for the calls already submitted to finish.
+     */
+    @Override
+    public void close() {
+        executor.close();
+    }
+
+    /**
+     * Runs a service call that holds one connection.
+     */
+    private <T> CompletableFuture<T> submit(Supplier<T> call) {
+        return submit(1, call);
+    }
+
+    /**
+     * Runs a service call on a new virtual thread once permits for its connections are free.
+     */
+    private <T> CompletableFuture<T> submit(int connections, Supplier<T> call) {
+        int needed = Math.min(connections, maxConnections);
+
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                permits.acquire(needed);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CompletionException(e);
+            }
+
+            try {
+                return call.get();
+            } finally {
+                permits.release(needed);
+            }
+        }, executor);
+    }
+}
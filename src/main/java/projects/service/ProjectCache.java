@@ -0,0 +1,205 @@
+package projects.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import projects.entity.Category;
+import projects.entity.Material;
+import projects.entity.Project;
+import projects.entity.Step;
+
+/**
+ * A bounded, in-process cache of projects keyed by project ID. Entries are evicted when the cache is
+ * full (least recently used first) or when they are older than the time-to-live. Projects are copied
+ * on the way in and on the way out, so callers can never change the cached state.
+ */
+public class ProjectCache {
+    private final int maxSize;
+    private final long timeToLiveMillis;
+    private final Map<Integer, Entry> entries;
+
+    // Incremented on every invalidation, guarded by the entries lock
+    private long invalidationCount;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Creates an empty cache.
+     *
+     * @param maxSize          The maximum number of projects held.
+     * @param timeToLiveMillis How long a project stays in the cache after it is loaded.
+     */
+    public ProjectCache(int maxSize, long timeToLiveMillis) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Cache size must be at least 1");
+        }
+
+        this.maxSize = maxSize;
+        this.timeToLiveMillis = timeToLiveMillis;
+
+        // An access-ordered LinkedHashMap gives least-recently-used eviction
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Entry> eldest) {
+                boolean evict = size() > ProjectCache.this.maxSize;
+
+                if (evict) {
+                    evictions.increment();
+                }
+                return evict;
+            }
+        };
+    }
+
+    /**
+     * Returns a copy of the cached project, loading and caching it on a miss or when the cached copy
+     * has expired. The loader runs outside the cache lock so a slow load does not block other
+     * readers.
+     *
+     * @param projectId The project ID.
+     * @param loader    Loads the project from the database on a miss.
+     * @return A copy of the project.
+     */
+    public Project get(Integer projectId, Function<Integer, Project> loader) {
+        long now = System.currentTimeMillis();
+        long invalidationsBeforeLoad;
+
+        synchronized (entries) {
+            invalidationsBeforeLoad = invalidationCount;
+            Entry entry = entries.get(projectId);
+
+            if (entry != null && entry.expiresAtMillis > now) {
+                hits.increment();
+                return copyOf(entry.project);
+            }
+
+            if (entry != null) {
+                entries.remove(projectId);
+                evictions.increment();
+            }
+        }
+
+        misses.increment();
+        Project project = copyOf(loader.apply(projectId));
+
+        synchronized (entries) {
+            // Don't cache a copy that may have been loaded before a concurrent write
+            if (invalidationCount == invalidationsBeforeLoad) {
+                entries.put(projectId, new Entry(project, now + timeToLiveMillis));
+            }
+        }
+
+        return copyOf(project);
+    }
+
+    /**
+     * Removes a project from the cache. This must be called whenever the project is changed or
+     * deleted.
+     *
+     * @param projectId The project ID.
+     */
+    public void invalidate(Integer projectId) {
+        synchronized (entries) {
+            invalidationCount++;
+            entries.remove(projectId);
+        }
+    }
+
+    /**
+     * Removes every project from the cache.
+     */
+    public void invalidateAll() {
+        synchronized (entries) {
+            invalidationCount++;
+            entries.clear();
+        }
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ProjectCache [size=" + size() + ", hits=" + getHitCount() + ", misses=" + getMissCount()
+                + ", evictions=" + getEvictionCount() + "]";
+    }
+
+    /**
+     * Makes a deep copy of a project and its materials, steps, and categories.
+     *
+     * @param project The project to copy.
+     * @return The copy.
+     */
+    static Project copyOf(Project project) {
+        Project copy = new Project();
+        copy.setProjectId(project.getProjectId());
+        copy.setProjectName(project.getProjectName());
+        copy.setEstimatedHours(project.getEstimatedHours());
+        copy.setActualHours(project.getActualHours());
+        copy.setDifficulty(project.getDifficulty());
+        copy.setNotes(project.getNotes());
+        copy.setVersion(project.getVersion());
+
+        for (Material material : project.getMaterials()) {
+            Material materialCopy = new Material();
+            materialCopy.setMaterialId(material.getMaterialId());
+            materialCopy.setProjectId(material.getProjectId());
+            materialCopy.setMaterialName(material.getMaterialName());
+            materialCopy.setNumRequired(material.getNumRequired());
+            materialCopy.setCost(material.getCost());
+            copy.addMaterial(materialCopy);
+        }
+
+        for (Step step : project.getSteps()) {
+            Step stepCopy = new Step();
+            stepCopy.setStepId(step.getStepId());
+            stepCopy.setProjectId(step.getProjectId());
+            stepCopy.setStepText(step.getStepText());
+            stepCopy.setStepOrder(step.getStepOrder());
+            copy.addStep(stepCopy);
+        }
+
+        for (Category category : project.getCategories()) {
+            Category categoryCopy = new Category();
+            categoryCopy.setCategoryId(category.getCategoryId());
+            categoryCopy.setCategoryName(category.getCategoryName());
+            copy.addCategory(categoryCopy);
+        }
+
+        return copy;
+    }
+
+    /**
+     * A cached project and the time it expires.
+     */
+    private static class Entry {
+        private final Project project;
+        private final long expiresAtMillis;
+
+        Entry(Project project, long expiresAtMillis) {
+            this.project = project;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+    }
+}
@@ -1,17 +1,59 @@
 package projects.service;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
 import java.util.List;
+import java.util.Locale;
 import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.function.Consumer;
 
+import projects.config.AppConfig;
+import projects.dao.InstrumentedProjectDao;
 import projects.dao.ProjectDao;
+import projects.dao.ProjectExportDao;
+import projects.dao.ProjectImportDao;
+import projects.dao.QueryTracker;
+import projects.entity.ImportReport;
 import projects.entity.Project;
+import projects.entity.ProjectPage;
+import projects.entity.Step;
 import projects.exception.DbException;
+import projects.exception.ProjectConflictException;
+import projects.metrics.Metrics;
 
 /**
  * This class provides services related to Project operations.
  */
 public class ProjectService {
-    private ProjectDao projectDao = new ProjectDao();
+    // Read-through cache settings for fetchProjectById
+    private static final int CACHE_MAX_SIZE = 1000;
+    private static final long CACHE_TIME_TO_LIVE_MILLIS = 5 * 60 * 1000;
+
+    // Number of projects written per transaction by addProjects
+    private static final int DEFAULT_INSERT_BATCH_SIZE = 500;
+
+    // Output buffer for exportProjects
+    private static final int EXPORT_BUFFER_SIZE = 64 * 1024;
+
+    // Setting that turns on parallel child loading for fetchProjectById
+    private static final String PARALLEL_CHILD_LOADING_PROPERTY = "projects.fetch.parallelChildren";
+
+    private ProjectDao projectDao = Metrics.isEnabled()
+            ? new InstrumentedProjectDao(Metrics.getRegistry())
+            : new ProjectDao();
+    private ProjectImportDao projectImportDao = new ProjectImportDao();
+    private ProjectExportDao projectExportDao = new ProjectExportDao();
+    private ProjectCache projectCache = new ProjectCache(CACHE_MAX_SIZE, CACHE_TIME_TO_LIVE_MILLIS);
+    private volatile boolean parallelChildLoading = AppConfig.get().getBoolean(PARALLEL_CHILD_LOADING_PROPERTY, false);
 
     /**
      * Adds a new project along with its materials, steps, and categories.
@@ -20,7 +62,77 @@ public class ProjectService {
      * @return The added project with the generated project ID.
      */
     public Project addProject(Project project) {
-        return projectDao.insertProject(project);
+        return QueryTracker.call("ProjectService.addProject", () -> {
+            Project dbProject = projectDao.insertProject(project);
+            projectCache.invalidate(dbProject.getProjectId());
+            return dbProject;
+        });
+    }
+
+    /**
+     * Adds many projects along with their materials, steps, and categories, using batched inserts
+     * with one transaction per batch.
+     *
+     * @param projects  The projects to add. Each is given its generated project ID.
+     * @param batchSize The number of projects written per transaction.
+     * @return The number of projects added.
+     */
+    public int addProjects(Collection<Project> projects, int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be at least 1");
+        }
+
+        return QueryTracker.call("ProjectService.addProjects", () -> projectDao.insertProjects(projects, batchSize));
+    }
+
+    /**
+     * Adds many projects using the default batch size.
+     *
+     * @param projects The projects to add. Each is given its generated project ID.
+     * @return The number of projects added.
+     */
+    public int addProjects(Collection<Project> projects) {
+        return addProjects(projects, DEFAULT_INSERT_BATCH_SIZE);
+    }
+
+    /**
+     * Imports projects in bulk from a CSV or TSV file (see {@link ProjectImportDao} for the format).
+     * Files ending in .tsv are read as tab-separated and anything else as comma-separated. The file
+     * is streamed to the database as it is read, so it is never held in memory.
+     *
+     * @param file The file to import.
+     * @return The import report, including the rows that were rejected.
+     */
+    public ImportReport importProjects(Path file) {
+        char delimiter = file.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".tsv") ? '\t' : ',';
+
+        return QueryTracker.call("ProjectService.importProjects", () -> {
+            try (InputStream in = new BufferedInputStream(Files.newInputStream(file))) {
+                return projectImportDao.importProjects(in, delimiter);
+            } catch (IOException e) {
+                throw new DbException("Unable to read import file " + file + ": " + e.getMessage(), e);
+            }
+        });
+    }
+
+    /**
+     * Exports every project, with its materials, steps, and categories, to a file as JSON lines (see
+     * {@link ProjectExportDao} for the format). Rows are written as they are read, so memory use
+     * doesn't grow with the number of projects. An existing file is replaced.
+     *
+     * @param file The file to write.
+     * @return The number of projects exported.
+     */
+    public long exportProjects(Path file) {
+        return QueryTracker.call("ProjectService.exportProjects", () -> {
+            try (Writer out = new BufferedWriter(
+                    new OutputStreamWriter(Files.newOutputStream(file), StandardCharsets.UTF_8),
+                    EXPORT_BUFFER_SIZE)) {
+                return projectExportDao.exportProjects(out);
+            } catch (IOException e) {
+                throw new DbException("Unable to write export file " + file + ": " + e.getMessage(), e);
+            }
+        });
     }
 
     /**
@@ -29,34 +141,111 @@ public class ProjectService {
      * @return A list of all projects.
      */
     public List<Project> fetchAllProjects() {
-        return projectDao.fetchAllProjects();
+        return QueryTracker.call("ProjectService.fetchAllProjects", projectDao::fetchAllProjects);
     }
 
     /**
-     * Fetches a project by its ID along with its materials, steps, and categories.
+     * Fetches one page of projects with their materials, steps, and categories.
+     *
+     * @param pageToken The next page token from the previous page, or null for the first page.
+     * @param pageSize  The maximum number of projects on the page.
+     * @return The page of projects.
+     */
+    public ProjectPage fetchProjectPage(Integer pageToken, int pageSize) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("Page size must be at least 1");
+        }
+
+        return QueryTracker.call("ProjectService.fetchProjectPage",
+                () -> projectDao.fetchProjectPage(pageToken, pageSize));
+    }
+
+    /**
+     * Passes every project, with its materials, steps, and categories, to a callback as the rows are
+     * read. Unlike {@link #fetchAllProjects()}, this does not hold all projects in memory.
+     *
+     * @param action The callback to receive each project.
+     */
+    public void forEachProject(Consumer<? super Project> action) {
+        QueryTracker.run("ProjectService.forEachProject", () -> projectDao.streamAllProjects(action));
+    }
+
+    /**
+     * Fetches a project by its ID along with its materials, steps, and categories. The whole project
+     * is read in a single database round trip and cached; later calls return a copy of the cached
+     * project until it expires or the project is changed through this service. If parallel child
+     * loading is on (see {@link #setParallelChildLoading(boolean)}), a cache miss instead runs the
+     * project query and the three child queries at the same time on separate connections.
      *
      * @param projectId The ID of the project to fetch.
-     * @return The fetched project or null if not found.
+     * @return The fetched project.
+     * @throws NoSuchElementException If no project has the given ID.
      */
     public Project fetchProjectById(Integer projectId) {
         if (projectId == null) {
             throw new IllegalArgumentException("Project ID cannot be null");
         }
 
-        return projectDao.fetchProjectById(projectId)
-            .orElseThrow(() -> new NoSuchElementException( // Use existing import
-                "Project not found with ID: " + projectId));
+        return QueryTracker.call("ProjectService.fetchProjectById",
+                () -> projectCache.get(projectId, id -> loadProject(id)
+                    .orElseThrow(() -> new NoSuchElementException( // Use existing import
+                        "Project not found with ID: " + id))));
+    }
+
+    private Optional<Project> loadProject(Integer projectId) {
+        return parallelChildLoading
+                ? projectDao.fetchProjectByIdParallel(projectId)
+                : projectDao.fetchProjectGraphById(projectId);
+    }
+
+    /**
+     * Chooses how {@link #fetchProjectById(Integer)} loads a project that isn't cached. The default
+     * is a single round trip; parallel loading uses four connections per call but can be faster when
+     * the child tables are large. The default comes from the {@code projects.fetch.parallelChildren}
+     * setting.
+     *
+     * @param parallelChildLoading True to load the children in parallel.
+     */
+    public void setParallelChildLoading(boolean parallelChildLoading) {
+        this.parallelChildLoading = parallelChildLoading;
+    }
+
+    public boolean isParallelChildLoading() {
+        return parallelChildLoading;
     }
 
 
     /**
-     * Updates an existing project.
+     * Updates an existing project. The project must carry the version it was read at; if someone
+     * else has updated it since, nothing is written and a {@link ProjectConflictException} is thrown
+     * so the caller can re-read the project and retry.
      *
-     * @param project The project with updated information.
+     * @param project The project with updated information. It is given its new version on success.
      * @return The number of rows affected.
+     * @throws ProjectConflictException If the project was changed since it was read.
      */
     public int updateProject(Project project) {
-        return projectDao.updateProject(project);
+        try {
+            return QueryTracker.call("ProjectService.updateProject", () -> projectDao.updateProject(project));
+        } finally {
+            projectCache.invalidate(project.getProjectId());
+        }
+    }
+
+    /**
+     * Adds steps to the end of a project's existing steps. Step orders are assigned in the order the
+     * steps are given, continuing from the project's highest step order.
+     *
+     * @param projectId The ID of the project.
+     * @param steps     The steps to add. They are given their new IDs and step orders.
+     * @return The added steps.
+     */
+    public List<Step> addSteps(Integer projectId, List<Step> steps) {
+        try {
+            return QueryTracker.call("ProjectService.addSteps", () -> projectDao.appendSteps(projectId, steps));
+        } finally {
+            projectCache.invalidate(projectId);
+        }
     }
 
     /**
@@ -66,14 +255,39 @@ public class ProjectService {
      * @return The number of rows affected.
      */
     public int deleteProject(Integer projectId) {
-        return projectDao.deleteProject(projectId);
+        try {
+            return QueryTracker.call("ProjectService.deleteProject", () -> projectDao.deleteProject(projectId));
+        } finally {
+            projectCache.invalidate(projectId);
+        }
     }
 
+	/**
+	 * Updates the details of an existing project, checking its version like
+	 * {@link #updateProject(Project)}.
+	 *
+	 * @param project The project with updated details.
+	 * @throws ProjectConflictException If the project was changed since it was read.
+	 */
 	public void modifyProjectDetails(Project project) {
-		if(!projectDao.modifyProjectDetails(project)) {
-			throw new DbException("Project with ID=" + project.getProjectId() + " does not exist.");
+		try {
+			QueryTracker.run("ProjectService.modifyProjectDetails", () -> {
+				if(!projectDao.modifyProjectDetails(project)) {
+					throw new DbException("Project with ID=" + project.getProjectId() + " does not exist.");
+				}
+			});
+		} finally {
+			projectCache.invalidate(project.getProjectId());
 		}
-	
-		
 	}
+
+    /**
+     * Returns the project cache used by {@link #fetchProjectById(Integer)}, for example to read its
+     * hit and miss counts.
+     *
+     * @return The project cache.
+     */
+    public ProjectCache getProjectCache() {
+        return projectCache;
+    }
 }
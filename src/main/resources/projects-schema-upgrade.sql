@@ -0,0 +1,50 @@
+ USE projects;
+
+-- Upgrades a database created from the original projects-schema.sql to the current schema without
+-- dropping any data. Run it once; new databases should use projects-schema.sql instead.
+
+-- Optimistic locking (ProjectDao.updateProject and modifyProjectDetails)
+ALTER TABLE project
+    ADD COLUMN version INT NOT NULL DEFAULT 0;
+
+-- Category names must be unique for the set-based category upsert. Links to duplicate categories
+-- are moved to the lowest category ID with that name, then the duplicates are deleted (their
+-- remaining links cascade).
+INSERT IGNORE INTO project_category (project_id, category_id)
+SELECT pc.project_id, keep.category_id
+FROM project_category pc
+JOIN category c ON c.category_id = pc.category_id
+JOIN (SELECT category_name, MIN(category_id) AS category_id FROM category GROUP BY category_name) keep
+    ON keep.category_name = c.category_name
+WHERE c.category_id <> keep.category_id;
+
+DELETE c
+FROM category c
+JOIN (SELECT category_name, MIN(category_id) AS category_id FROM category GROUP BY category_name) keep
+    ON keep.category_name = c.category_name
+WHERE c.category_id <> keep.category_id;
+
+ALTER TABLE category
+    ADD UNIQUE KEY uk_category_name (category_name);
+
+-- Step order counters (SequenceAllocator). They are seeded from the existing steps on first use.
+CREATE TABLE step_order_sequence (
+    project_id INT NOT NULL,
+    next_value INT NOT NULL,
+    PRIMARY KEY (project_id),
+    FOREIGN KEY (project_id) REFERENCES project(project_id) ON DELETE CASCADE
+);
+
+-- Indexes for the DAO's per-project child reads. They lead with project_id, so the foreign keys
+-- can use them in place of the single-column indexes MySQL created for them (named after the
+-- column), which are then dropped.
+ALTER TABLE step
+    ADD KEY idx_step_project_order (project_id, step_order),
+    DROP INDEX project_id;
+
+ALTER TABLE material
+    ADD KEY idx_material_project (project_id, material_id, material_name, num_required, cost),
+    DROP INDEX project_id;
+
+show INDEX FROM step;
+show INDEX FROM material;
@@ -1,5 +1,6 @@
  USE projects;
 
+DROP TABLE IF EXISTS step_order_sequence;
 DROP TABLE IF EXISTS project_category;
 DROP TABLE IF EXISTS step;
 DROP TABLE IF EXISTS material;
@@ -14,13 +15,15 @@ CREATE TABLE project (
     actual_hours DECIMAL(7,2),
     difficulty INT,
     notes TEXT,
+    version INT NOT NULL DEFAULT 0,
     PRIMARY KEY (project_id)
 );
 
 CREATE TABLE category (
     category_id INT NOT NULL AUTO_INCREMENT,
     category_name VARCHAR(128) NOT NULL,
-    PRIMARY KEY (category_id)
+    PRIMARY KEY (category_id),
+    UNIQUE KEY uk_category_name (category_name)
 );
 
 CREATE TABLE project_category (
@@ -37,6 +40,15 @@ CREATE TABLE step (
     step_text TEXT NOT NULL,
     step_order INT NOT NULL,
     PRIMARY KEY (step_id),
+    -- Steps are read per project in step order, and step_order_sequence seeds from MAX(step_order)
+    KEY idx_step_project_order (project_id, step_order),
+    FOREIGN KEY (project_id) REFERENCES project(project_id) ON DELETE CASCADE
+);
+
+CREATE TABLE step_order_sequence (
+    project_id INT NOT NULL,
+    next_value INT NOT NULL,
+    PRIMARY KEY (project_id),
     FOREIGN KEY (project_id) REFERENCES project(project_id) ON DELETE CASCADE
 );
 
@@ -47,6 +59,8 @@ CREATE TABLE material (
     num_required INT,
     cost DECIMAL(7,2),
     PRIMARY KEY (material_id),
+    -- Covers the per-project material reads, in material_id order, without touching the table rows
+    KEY idx_material_project (project_id, material_id, material_name, num_required, cost),
     FOREIGN KEY (project_id) REFERENCES project(project_id) ON DELETE CASCADE
 );
 
@@ -0,0 +1,318 @@
+package projects.dao;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Runs EXPLAIN on every read in ProjectDao and fails if one scans a whole table or index, or sorts
+ * with a filesort. This needs MySQL, because the plans come from its optimizer; it is skipped unless
+ * {@code projects.test.mysql.uri} is set to the JDBC URI of a schema created from
+ * projects-schema.sql and the server is reachable:
+ *
+ * <pre>
+ * mvn test -Dprojects.test.mysql.uri="jdbc:mysql://localhost:3306/projects?user=...&amp;password=..."
+ * </pre>
+ *
+ * The reads are found by reflection (every SELECT constant in ProjectDao), so a new query is checked
+ * without changing this test. The reads that load whole tables on purpose (the ALL_*_SQL constants)
+ * and the project graph query, whose UNION ALL result is sorted by design, are exempt.
+ *
+ * <p>On empty or tiny tables the optimizer prefers scans whatever the indexes are, so the test
+ * first inserts a few thousand projects with children, runs ANALYZE TABLE, and explains each read
+ * with the parameters bound to rows that exist. Each table access must also use the index the read
+ * was written for. The inserted rows are deleted afterwards.
+ */
+class ProjectDaoExplainTest {
+    private static final String URI_PROPERTY = "projects.test.mysql.uri";
+
+    private static final Set<String> EXEMPT = Set.of("ALL_PROJECTS_SQL", "ALL_MATERIALS_SQL", "ALL_STEPS_SQL",
+            "ALL_CATEGORIES_SQL", "PROJECT_GRAPH_SQL");
+
+    // A parameter that follows LIMIT must be bound as a number
+    private static final Pattern PARAMETER = Pattern.compile("(\\bLIMIT\\s+)?\\?");
+
+    private static final int PROJECT_COUNT = 2000;
+    private static final int CHILDREN_PER_PROJECT = 5;
+    private static final int CATEGORY_COUNT = 50;
+    private static final int CATEGORIES_PER_PROJECT = 3;
+
+    // The index each table (or table alias, as EXPLAIN reports it) is expected to be read through
+    private static final Map<String, String> EXPECTED_KEYS = Map.of(
+            "project", "PRIMARY",
+            "material", "idx_material_project",
+            "step", "idx_step_project_order",
+            "category", "uk_category_name",
+            "c", "PRIMARY",
+            "pc", "PRIMARY");
+
+    // Marks the rows this test inserts, so that only they are deleted
+    private static final String PREFIX = "explain-" + UUID.randomUUID() + " ";
+
+    private static final String INSERT_PROJECT_SQL = ""
+            + "INSERT INTO project (project_name, estimated_hours, actual_hours, difficulty, notes) "
+            + "VALUES (?, 12.50, 14.25, 3, 'Explain test project')";
+    private static final String INSERT_CATEGORY_SQL =
+            "INSERT INTO category (category_name) VALUES (?)";
+    private static final String INSERT_MATERIAL_SQL = ""
+            + "INSERT INTO material (project_id, material_name, num_required, cost) "
+            + "VALUES (?, ?, ?, 3.75)";
+    private static final String INSERT_STEP_SQL =
+            "INSERT INTO step (project_id, step_text, step_order) VALUES (?, ?, ?)";
+    private static final String INSERT_PROJECT_CATEGORY_SQL =
+            "INSERT INTO project_category (project_id, category_id) VALUES (?, ?)";
+    private static final String PROJECT_IDS_SQL =
+            "SELECT project_id FROM project WHERE project_name LIKE ?";
+    private static final String CATEGORY_IDS_SQL =
+            "SELECT category_id FROM category WHERE category_name LIKE ?";
+    private static final String DELETE_PROJECTS_SQL =
+            "DELETE FROM project WHERE project_name LIKE ?";
+    private static final String DELETE_CATEGORIES_SQL =
+            "DELETE FROM category WHERE category_name LIKE ?";
+
+    private static Connection conn;
+    private static int projectId;
+    private static String categoryName;
+
+    @BeforeAll
+    static void connect() throws SQLException {
+        String uri = System.getProperty(URI_PROPERTY);
+        Assumptions.assumeTrue(uri != null, URI_PROPERTY + " is not set");
+
+        try {
+            conn = DriverManager.getConnection(uri);
+        } catch (SQLException e) {
+            Assumptions.assumeTrue(false, "MySQL is not reachable: " + e.getMessage());
+        }
+
+        seed();
+    }
+
+    @AfterAll
+    static void disconnect() throws SQLException {
+        if (conn == null) {
+            return;
+        }
+
+        // The children and category links of the projects cascade
+        try (Connection toClose = conn;
+                PreparedStatement projects = toClose.prepareStatement(DELETE_PROJECTS_SQL);
+                PreparedStatement categories = toClose.prepareStatement(DELETE_CATEGORIES_SQL)) {
+            projects.setString(1, PREFIX + "%");
+            projects.executeUpdate();
+            categories.setString(1, PREFIX + "%");
+            categories.executeUpdate();
+        }
+    }
+
+    /**
+     * Inserts the projects, their materials, steps, and category links, and the categories, then
+     * refreshes the index statistics so the plans reflect them.
+     */
+    private static void seed() throws SQLException {
+        conn.setAutoCommit(false);
+
+        try {
+            insertRows(INSERT_PROJECT_SQL, PROJECT_COUNT,
+                    (stmt, index) -> stmt.setString(1, PREFIX + index));
+            insertRows(INSERT_CATEGORY_SQL, CATEGORY_COUNT,
+                    (stmt, index) -> stmt.setString(1, PREFIX + "category " + index));
+
+            List<Integer> projectIds = fetchIds(PROJECT_IDS_SQL);
+            List<Integer> categoryIds = fetchIds(CATEGORY_IDS_SQL);
+
+            insertRows(INSERT_MATERIAL_SQL, PROJECT_COUNT * CHILDREN_PER_PROJECT, (stmt, index) -> {
+                stmt.setInt(1, projectIds.get(index / CHILDREN_PER_PROJECT));
+                stmt.setString(2, "Material " + index % CHILDREN_PER_PROJECT);
+                stmt.setInt(3, index % CHILDREN_PER_PROJECT + 1);
+            });
+            insertRows(INSERT_STEP_SQL, PROJECT_COUNT * CHILDREN_PER_PROJECT, (stmt, index) -> {
+                stmt.setInt(1, projectIds.get(index / CHILDREN_PER_PROJECT));
+                stmt.setString(2, "Step " + index % CHILDREN_PER_PROJECT);
+                stmt.setInt(3, index % CHILDREN_PER_PROJECT + 1);
+            });
+            // Each project gets consecutive categories, so each category is linked to many projects
+            int links = PROJECT_COUNT * CATEGORIES_PER_PROJECT;
+            insertRows(INSERT_PROJECT_CATEGORY_SQL, links, (stmt, index) -> {
+                int project = index / CATEGORIES_PER_PROJECT;
+                int category = (project + index % CATEGORIES_PER_PROJECT) % CATEGORY_COUNT;
+                stmt.setInt(1, projectIds.get(project));
+                stmt.setInt(2, categoryIds.get(category));
+            });
+
+            conn.commit();
+
+            projectId = projectIds.get(PROJECT_COUNT / 2);
+            categoryName = PREFIX + "category " + CATEGORY_COUNT / 2;
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(true);
+        }
+
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("ANALYZE TABLE project, material, step, category, project_category");
+        }
+    }
+
+    @Test
+    void readsUseIndexesWithoutFilesort() throws Exception {
+        List<String> problems = new ArrayList<>();
+
+        for (Map.Entry<String, String> read : readStatements().entrySet()) {
+            for (String problem : explain(read.getValue())) {
+                problems.add(read.getKey() + ": " + problem);
+            }
+        }
+
+        assertTrue(problems.isEmpty(), String.join("\n", problems));
+    }
+
+    /**
+     * Collects the SELECT statements declared as constants in ProjectDao, keyed by constant name. Each
+     * variant of an IN-list statement gets its own entry.
+     */
+    private static Map<String, String> readStatements() throws IllegalAccessException {
+        Map<String, String> reads = new LinkedHashMap<>();
+
+        for (Field field : ProjectDao.class.getDeclaredFields()) {
+            if (!Modifier.isStatic(field.getModifiers()) || !field.getName().endsWith("_SQL")
+                    || EXEMPT.contains(field.getName())) {
+                continue;
+            }
+
+            field.setAccessible(true);
+            Object value = field.get(null);
+
+            if (value instanceof String sql) {
+                addRead(reads, field.getName(), sql);
+            } else if (value instanceof String[] variants) {
+                for (int index = 0; index < variants.length; index++) {
+                    addRead(reads, field.getName() + "[" + index + "]", variants[index]);
+                }
+            }
+        }
+
+        return reads;
+    }
+
+    private static void addRead(Map<String, String> reads, String name, String sql) {
+        if (sql.stripLeading().regionMatches(true, 0, "SELECT", 0, 6)) {
+            reads.put(name, sql);
+        }
+    }
+
+    /**
+     * Explains a statement with its parameters bound to a seeded row: LIMIT parameters to 1, the
+     * parameters of a category name lookup to a seeded category name, and all others to the ID of a
+     * seeded project.
+     *
+     * @return A description of each table access that is a full scan, uses a filesort, or uses an
+     *         index other than the one in {@link #EXPECTED_KEYS}.
+     */
+    private static List<String> explain(String sql) throws SQLException {
+        List<String> problems = new ArrayList<>();
+
+        try (PreparedStatement stmt = conn.prepareStatement("EXPLAIN " + sql)) {
+            Matcher matcher = PARAMETER.matcher(sql);
+            boolean byCategoryName = sql.contains("category_name IN");
+
+            for (int index = 1; matcher.find(); index++) {
+                if (matcher.group(1) != null) {
+                    stmt.setInt(index, 1);
+                } else if (byCategoryName) {
+                    stmt.setString(index, categoryName);
+                } else {
+                    stmt.setInt(index, projectId);
+                }
+            }
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    String table = rs.getString("table");
+                    String type = rs.getString("type");
+                    String key = rs.getString("key");
+                    String extra = rs.getString("Extra");
+                    String expectedKey = EXPECTED_KEYS.get(table);
+
+                    if ("ALL".equals(type) || "index".equals(type)) {
+                        problems.add("full " + ("ALL".equals(type) ? "table" : "index") + " scan of " + table);
+                    }
+                    if (extra != null && extra.contains("Using filesort")) {
+                        problems.add("filesort on " + table);
+                    }
+                    if (expectedKey != null && !expectedKey.equals(key)) {
+                        problems.add(table + " read through " + (key == null ? "no index" : key)
+                                + " instead of " + expectedKey);
+                    }
+                }
+            }
+        }
+
+        return problems;
+    }
+
+    /**
+     * Inserts rows in one batch.
+     *
+     * @param sql    The INSERT statement.
+     * @param count  The number of rows.
+     * @param binder Sets the parameters of the row with the given index, from 0.
+     */
+    private static void insertRows(String sql, int count, RowBinder binder) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (int index = 0; index < count; index++) {
+                binder.bind(stmt, index);
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+    }
+
+    /**
+     * Reads the IDs of the rows this test inserted, in ID order.
+     *
+     * @param sql A query for one ID column with the name pattern as its parameter.
+     */
+    private static List<Integer> fetchIds(String sql) throws SQLException {
+        List<Integer> ids = new ArrayList<>();
+
+        try (PreparedStatement stmt = conn.prepareStatement(sql + " ORDER BY 1")) {
+            stmt.setString(1, PREFIX + "%");
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    ids.add(rs.getInt(1));
+                }
+            }
+        }
+
+        return ids;
+    }
+
+    @FunctionalInterface
+    private interface RowBinder {
+        void bind(PreparedStatement stmt, int index) throws SQLException;
+    }
+}
@@ -0,0 +1,92 @@
+package projects.dao;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import projects.entity.Project;
+
+/**
+ * Counts the statements ProjectDao executes per call, so N+1 query patterns show up as test
+ * failures rather than in production.
+ */
+class ProjectDaoQueryCountTest {
+    private static final int CHILDREN_PER_PROJECT = 3;
+
+    private final ProjectDao projectDao = new ProjectDao();
+
+    @BeforeAll
+    static void startDatabase() {
+        TestDatabase.start();
+    }
+
+    @BeforeEach
+    void deleteProjects() {
+        TestDatabase.deleteProjects();
+    }
+
+    /** One project query and one query per child table, however many projects there are. */
+    @ParameterizedTest
+    @ValueSource(ints = { 1, 1000 })
+    void fetchAllProjectsRunsFourStatements(int projectCount) {
+        TestDatabase.seed(projectCount, CHILDREN_PER_PROJECT);
+
+        try (QueryTracker.Scope scope = QueryTracker.begin("fetchAllProjects")) {
+            List<Project> projects = projectDao.fetchAllProjects();
+
+            assertEquals(4, scope.getStatementCount());
+            assertEquals(projectCount, projects.size());
+
+            for (Project project : projects) {
+                assertEquals(CHILDREN_PER_PROJECT, project.getMaterials().size());
+                assertEquals(CHILDREN_PER_PROJECT, project.getSteps().size());
+                assertEquals(CHILDREN_PER_PROJECT, project.getCategories().size());
+            }
+        }
+    }
+
+    /**
+     * The project insert, one batch per child table, and for new categories a lookup, the upsert,
+     * and the read-back. The project's ID comes from the INSERT's generated keys, with no extra
+     * round trip.
+     */
+    @Test
+    void insertProjectWithNewCategoriesRunsSevenStatements() {
+        Project project = TestDatabase.newProject("New categories", CHILDREN_PER_PROJECT, uniqueCategoryPrefix());
+
+        try (QueryTracker.Scope scope = QueryTracker.begin("insertProject")) {
+            projectDao.insertProject(project);
+
+            assertEquals(7, scope.getStatementCount());
+            assertNotNull(project.getProjectId());
+        }
+    }
+
+    /** Categories created by an earlier insert are cached, so the lookup, upsert, and read-back are skipped. */
+    @Test
+    void insertProjectWithKnownCategoriesRunsFourStatements() {
+        String categoryPrefix = uniqueCategoryPrefix();
+        projectDao.insertProject(TestDatabase.newProject("First", CHILDREN_PER_PROJECT, categoryPrefix));
+        Project project = TestDatabase.newProject("Second", CHILDREN_PER_PROJECT, categoryPrefix);
+
+        try (QueryTracker.Scope scope = QueryTracker.begin("insertProject")) {
+            projectDao.insertProject(project);
+
+            assertEquals(4, scope.getStatementCount());
+            assertNotNull(project.getProjectId());
+        }
+    }
+
+    // Categories outlive the test projects, so each test uses names no earlier test created
+    private static String uniqueCategoryPrefix() {
+        return "Category " + UUID.randomUUID() + " ";
+    }
+}
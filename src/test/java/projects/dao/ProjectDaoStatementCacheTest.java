@@ -0,0 +1,55 @@
+package projects.dao;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import projects.config.AppConfig;
+
+/**
+ * Checks that Connector/J's prepared statement cache can hold every statement ProjectDao prepares.
+ * The driver silently skips caching statements longer than {@code prepStmtCacheSqlLimit}, so a
+ * long IN-list variant would be parsed again on every call without any error.
+ */
+class ProjectDaoStatementCacheTest {
+    private static final String LIMIT_KEY = "projects.db.driver.prepStmtCacheSqlLimit";
+
+    // Connector/J's own default, used when the setting is absent
+    private static final int DRIVER_DEFAULT_LIMIT = 256;
+
+    @Test
+    void statementsFitTheCacheLimit() throws IllegalAccessException {
+        int limit = AppConfig.get().getInt(LIMIT_KEY, DRIVER_DEFAULT_LIMIT);
+        List<String> tooLong = new ArrayList<>();
+
+        for (Field field : ProjectDao.class.getDeclaredFields()) {
+            if (!Modifier.isStatic(field.getModifiers()) || !field.getName().endsWith("_SQL")) {
+                continue;
+            }
+
+            field.setAccessible(true);
+            Object value = field.get(null);
+
+            if (value instanceof String sql) {
+                checkLength(tooLong, field.getName(), sql, limit);
+            } else if (value instanceof String[] variants) {
+                for (int index = 0; index < variants.length; index++) {
+                    checkLength(tooLong, field.getName() + "[" + index + "]", variants[index], limit);
+                }
+            }
+        }
+
+        assertTrue(tooLong.isEmpty(), LIMIT_KEY + "=" + limit + " is too low for:\n" + String.join("\n", tooLong));
+    }
+
+    private static void checkLength(List<String> tooLong, String name, String sql, int limit) {
+        if (sql.length() > limit) {
+            tooLong.add(name + " (" + sql.length() + " characters)");
+        }
+    }
+}
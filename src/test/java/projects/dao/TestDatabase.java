@@ -0,0 +1,128 @@
+package projects.dao;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import projects.entity.Category;
+import projects.entity.Material;
+import projects.entity.Project;
+import projects.entity.Step;
+import projects.exception.DbException;
+
+/**
+ * Sets up the in-memory H2 database the tests run against. The build points {@link DbConnection} at
+ * it and turns on JDBC tracing (see the surefire configuration in pom.xml), so statements run by the
+ * DAO are counted by {@link QueryTracker}.
+ */
+final class TestDatabase {
+    private static final String SCHEMA_RESOURCE = "/test-schema.sql";
+
+    private static boolean started;
+
+    private TestDatabase() {
+    }
+
+    /**
+     * Creates the schema, once per JVM.
+     */
+    static synchronized void start() {
+        if (started) {
+            return;
+        }
+
+        try (Connection conn = DbConnection.getConnection(); Statement stmt = conn.createStatement()) {
+            for (String ddl : readSchema().split(";")) {
+                if (!ddl.isBlank()) {
+                    stmt.execute(ddl);
+                }
+            }
+        } catch (SQLException e) {
+            throw new DbException("Unable to create the test schema", e);
+        }
+
+        started = true;
+    }
+
+    /**
+     * Deletes every project; their children and category links cascade. Categories are kept because
+     * ProjectDao caches their IDs for the life of the JVM.
+     */
+    static void deleteProjects() {
+        try (Connection conn = DbConnection.getConnection(); Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("DELETE FROM project");
+        } catch (SQLException e) {
+            throw new DbException("Unable to delete the test projects", e);
+        }
+    }
+
+    /**
+     * Inserts projects, each with materials, steps, and categories.
+     *
+     * @param count              The number of projects to insert.
+     * @param childrenPerProject The number of materials, steps, and categories per project.
+     * @return The inserted projects with their generated IDs.
+     */
+    static List<Project> seed(int count, int childrenPerProject) {
+        List<Project> projects = new ArrayList<>();
+
+        for (int index = 0; index < count; index++) {
+            projects.add(newProject("Project " + index, childrenPerProject, "Category "));
+        }
+
+        new ProjectDao().insertProjects(projects, 500);
+        return projects;
+    }
+
+    /**
+     * Builds a project that has not been saved.
+     *
+     * @param name               The project name.
+     * @param childrenPerProject The number of materials, steps, and categories.
+     * @param categoryPrefix     The start of each category name, followed by the category's number.
+     * @return The project.
+     */
+    static Project newProject(String name, int childrenPerProject, String categoryPrefix) {
+        Project project = new Project();
+        project.setProjectName(name);
+        project.setEstimatedHours(new BigDecimal("12.50"));
+        project.setActualHours(new BigDecimal("14.25"));
+        project.setDifficulty(3);
+        project.setNotes("Test project");
+
+        for (int child = 0; child < childrenPerProject; child++) {
+            Material material = new Material();
+            material.setMaterialName("Material " + child);
+            material.setNumRequired(child + 1);
+            material.setCost(new BigDecimal("3.75"));
+            project.addMaterial(material);
+
+            Step step = new Step();
+            step.setStepText("Step " + child);
+            project.addStep(step);
+
+            Category category = new Category();
+            category.setCategoryName(categoryPrefix + child);
+            project.addCategory(category);
+        }
+
+        return project;
+    }
+
+    private static String readSchema() {
+        try (InputStream in = TestDatabase.class.getResourceAsStream(SCHEMA_RESOURCE)) {
+            if (in == null) {
+                throw new DbException("Missing resource " + SCHEMA_RESOURCE);
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new DbException("Unable to read " + SCHEMA_RESOURCE, e);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+-- Schema for the in-memory test database. It mirrors projects-schema.sql, written so that it
+-- also runs on H2 (no USE or SHOW statements).
+
+CREATE TABLE project (
+    project_id INT NOT NULL AUTO_INCREMENT,
+    project_name VARCHAR(128) NOT NULL,
+    estimated_hours DECIMAL(7,2),
+    actual_hours DECIMAL(7,2),
+    difficulty INT,
+    notes TEXT,
+    version INT NOT NULL DEFAULT 0,
+    PRIMARY KEY (project_id)
+);
+
+CREATE TABLE category (
+    category_id INT NOT NULL AUTO_INCREMENT,
+    category_name VARCHAR(128) NOT NULL,
+    PRIMARY KEY (category_id),
+    UNIQUE KEY uk_category_name (category_name)
+);
+
+CREATE TABLE project_category (
+    project_id INT NOT NULL,
+    category_id INT NOT NULL,
+    PRIMARY KEY (project_id, category_id),
+    FOREIGN KEY (project_id) REFERENCES project(project_id) ON DELETE CASCADE,
+    FOREIGN KEY (category_id) REFERENCES category(category_id) ON DELETE CASCADE
+);
+
+CREATE TABLE step (
+    step_id INT NOT NULL AUTO_INCREMENT,
+    project_id INT NOT NULL,
+    step_text TEXT NOT NULL,
+    step_order INT NOT NULL,
+    PRIMARY KEY (step_id),
+    -- Steps are read per project in step order, and step_order_sequence seeds from MAX(step_order)
+    KEY idx_step_project_order (project_id, step_order),
+    FOREIGN KEY (project_id) REFERENCES project(project_id) ON DELETE CASCADE
+);
+
+CREATE TABLE step_order_sequence (
+    project_id INT NOT NULL,
+    next_value INT NOT NULL,
+    PRIMARY KEY (project_id),
+    FOREIGN KEY (project_id) REFERENCES project(project_id) ON DELETE CASCADE
+);
+
+CREATE TABLE material (
+    material_id INT NOT NULL AUTO_INCREMENT,
+    project_id INT NOT NULL,
+    material_name VARCHAR(128) NOT NULL,
+    num_required INT,
+    cost DECIMAL(7,2),
+    PRIMARY KEY (material_id),
+    -- Covers the per-project material reads, in material_id order, without touching the table rows
+    KEY idx_material_project (project_id, material_id, material_name, num_required, cost),
+    FOREIGN KEY (project_id) REFERENCES project(project_id) ON DELETE CASCADE
+);